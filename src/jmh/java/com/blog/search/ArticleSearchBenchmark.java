@@ -0,0 +1,133 @@
+package com.blog.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章搜索基准
+ *
+ * 对比倒排索引检索与LIKE '%kw%'式的逐篇子串扫描。扫描在内存中进行，与数据库的全表扫描相比
+ * 不含读盘和行解码开销，因此结果是扫描方式的下限。两者都返回总数和第一页（20条）文章ID。
+ * 正文由随机生成的中英文词按偏斜分布组成，查询词只出现在少数文章中。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int VOCABULARY_SIZE = 20_000;
+
+    /**
+     * 查询词及其出现在文章中的概率
+     */
+    private static final String[] KEYWORDS = {"java", "博客", "并发编程"};
+    private static final double[] KEYWORD_RATES = {0.05, 0.02, 0.01};
+
+    @Param({"1000", "10000"})
+    public int articles;
+
+    @Param({"java", "博客", "并发编程"})
+    public String keyword;
+
+    private InvertedIndex index;
+    private String[] titles;
+    private String[] contents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random);
+        index = new InvertedIndex();
+        titles = new String[articles];
+        contents = new String[articles];
+        for (int i = 0; i < articles; i++) {
+            String title = words(random, vocabulary, 4 + random.nextInt(5));
+            StringJoiner content = new StringJoiner(" ");
+            content.add(words(random, vocabulary, 300 + random.nextInt(300)));
+            for (int k = 0; k < KEYWORDS.length; k++) {
+                if (random.nextDouble() < KEYWORD_RATES[k]) {
+                    content.add(KEYWORDS[k]);
+                }
+            }
+            index.add(i + 1, title, content.toString());
+            // 与utf8mb4_unicode_ci一致，LIKE不区分大小写
+            titles[i] = title.toLowerCase(Locale.ROOT);
+            contents[i] = content.toString().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Benchmark
+    public SearchHits invertedIndex() {
+        return index.search(keyword, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public SearchHits likeScan() {
+        String pattern = keyword.toLowerCase(Locale.ROOT);
+        List<Long> page = new ArrayList<>(PAGE_SIZE);
+        long total = 0;
+        // 文章按ID递增生成，倒序遍历即按创建时间倒序
+        for (int i = articles - 1; i >= 0; i--) {
+            if (titles[i].contains(pattern) || contents[i].contains(pattern)) {
+                if (page.size() < PAGE_SIZE) {
+                    page.add((long) i + 1);
+                }
+                total++;
+            }
+        }
+        return new SearchHits(total, page);
+    }
+
+    /**
+     * 生成词表，一半是3到9个字母的英文词，一半是两个常用汉字组成的中文词
+     */
+    private static String[] vocabulary(Random random) {
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            StringBuilder word = new StringBuilder();
+            if (i % 2 == 0) {
+                int length = 3 + random.nextInt(7);
+                for (int j = 0; j < length; j++) {
+                    word.append((char) ('a' + random.nextInt(26)));
+                }
+            } else {
+                word.append((char) (0x4E00 + random.nextInt(3000))).append((char) (0x4E00 + random.nextInt(3000)));
+            }
+            vocabulary[i] = word.toString();
+        }
+        return vocabulary;
+    }
+
+    /**
+     * 按对数均匀分布取词，排在前面的词出现得多，接近自然语言的词频偏斜
+     */
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < count; i++) {
+            joiner.add(vocabulary[(int) Math.pow(vocabulary.length, random.nextDouble()) - 1]);
+        }
+        return joiner.toString();
+    }
+}
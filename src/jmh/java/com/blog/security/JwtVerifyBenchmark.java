@@ -0,0 +1,102 @@
+package com.blog.security;
+
+import com.blog.enums.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌校验路径基准
+ *
+ * 对比三种情况：已校验令牌命中声明缓存、缓存未命中时的快速校验，以及jjwt完整解析。
+ * 吊销检查关闭Redis，只经过本地布隆过滤器，与线上绝大多数请求一致。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-must-be-at-least-256-bits-long";
+    private static final long EXPIRATION_MILLIS = 3_600_000;
+
+    /**
+     * 未命中缓存的用例轮流校验的令牌数，远大于该用例的缓存容量
+     */
+    private static final int TOKEN_POOL_SIZE = 1024;
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private SecretKey key;
+    private String token;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachedProvider = newProvider(10_000);
+        uncachedProvider = newProvider(1);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = cachedProvider.generateToken(1L, "admin", UserRole.ADMIN);
+        tokens = new String[TOKEN_POOL_SIZE];
+        for (int i = 0; i < TOKEN_POOL_SIZE; i++) {
+            tokens[i] = cachedProvider.generateToken((long) i, "user" + i, UserRole.USER);
+        }
+    }
+
+    @Benchmark
+    public JwtPrincipal authenticateCached() {
+        return cachedProvider.authenticate(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal authenticateUncached(Cursor cursor) {
+        return uncachedProvider.authenticate(tokens[cursor.next()]);
+    }
+
+    @Benchmark
+    public Object jjwtParse(Cursor cursor) {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(tokens[cursor.next()]).getPayload();
+    }
+
+    /**
+     * 每个线程独立的令牌下标
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index;
+
+        int next() {
+            index = (index + 1) % TOKEN_POOL_SIZE;
+            return index;
+        }
+    }
+
+    private static JwtTokenProvider newProvider(int claimsCacheSize) {
+        TokenRevocationService revocations = new TokenRevocationService(null, null, false,
+                EXPIRATION_MILLIS, 100_000, 0.01, Duration.ofSeconds(60));
+        return new JwtTokenProvider(new ObjectMapper(), revocations, new SimpleMeterRegistry(),
+                SECRET, EXPIRATION_MILLIS, claimsCacheSize);
+    }
+}
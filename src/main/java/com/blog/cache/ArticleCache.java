@@ -0,0 +1,121 @@
+package com.blog.cache;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.blog.dto.ArticleDto;
+import com.blog.dto.ArticleSummaryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 文章缓存
+ *
+ * 缓存文章详情和已发布文章的分页列表。访问量变化频繁，不随详情和列表失效，
+ * 而是单独缓存在本地：读取时用这里的访问量覆盖详情和列表中的旧值，访问量落库后直接在缓存上累加。
+ * 其他实例落库的访问量在本地条目过期（view-count-ttl）后可见。
+ */
+@Component
+public class ArticleCache {
+
+    private final TwoLevelCache detailCache;
+    private final TwoLevelCache listCache;
+    private final LocalCache<Long, Long> viewCounts;
+
+    public ArticleCache(ObjectProvider<RedisTemplate<String, Object>> redisTemplateProvider,
+                        ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider,
+                        MeterRegistry meterRegistry,
+                        @Value("${blog.cache.redis-enabled:true}") boolean redisEnabled,
+                        @Value("${blog.cache.local-max-size:1000}") int localMaxSize,
+                        @Value("${blog.cache.local-ttl:60s}") Duration localTtl,
+                        @Value("${blog.cache.redis-ttl:10m}") Duration redisTtl,
+                        @Value("${blog.cache.view-count-max-size:10000}") int viewCountMaxSize,
+                        @Value("${blog.cache.view-count-ttl:30s}") Duration viewCountTtl) {
+        RedisTemplate<String, Object> redisTemplate = redisEnabled ? redisTemplateProvider.getIfAvailable() : null;
+        RedisMessageListenerContainer listenerContainer = redisEnabled ? listenerContainerProvider.getIfAvailable() : null;
+        this.detailCache = new TwoLevelCache("article.detail",
+                new LocalCache<>(localMaxSize, localTtl), redisTemplate, redisTtl, listenerContainer);
+        this.listCache = new TwoLevelCache("article.list",
+                new LocalCache<>(localMaxSize, localTtl), redisTemplate, redisTtl, listenerContainer);
+        this.viewCounts = new LocalCache<>(viewCountMaxSize, viewCountTtl);
+        detailCache.bindTo(meterRegistry);
+        listCache.bindTo(meterRegistry);
+        viewCounts.bindTo(meterRegistry, "article.views", "local");
+    }
+
+    /**
+     * 批量获取已落库的访问量，未命中的文章交给loader一次加载，不存在的文章不返回
+     */
+    public Map<Long, Long> getViewCounts(Collection<Long> ids, Function<Set<Long>, Map<Long, Long>> loader) {
+        Map<Long, Long> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            Long viewCount = viewCounts.get(id);
+            if (viewCount != null) {
+                result.put(id, viewCount);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Long> loaded = loader.apply(missing);
+            loaded.forEach(viewCounts::put);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * 访问量落库后在已缓存的值上累加，未缓存的文章下次读取时从数据库加载
+     */
+    public void addViewCounts(Map<Long, Long> deltas) {
+        deltas.forEach((id, delta) -> viewCounts.computeIfPresent(id, viewCount -> viewCount + delta));
+    }
+
+    /**
+     * 获取文章详情
+     */
+    public ArticleDto getArticle(Long id, Supplier<ArticleDto> loader) {
+        return detailCache.get(String.valueOf(id), loader);
+    }
+
+    /**
+     * 获取已发布文章分页列表
+     */
+    public IPage<ArticleSummaryDto> getPublishedPage(int page, int size,
+                                                    Supplier<IPage<ArticleSummaryDto>> loader) {
+        return listCache.get("published:" + page + ":" + size, loader);
+    }
+
+    /**
+     * 移除文章详情缓存
+     */
+    public void evictArticle(Long id) {
+        detailCache.evict(String.valueOf(id));
+    }
+
+    /**
+     * 清空全部文章详情缓存
+     */
+    public void evictAllArticles() {
+        detailCache.clear();
+    }
+
+    /**
+     * 清空文章列表缓存
+     */
+    public void evictPublishedPages() {
+        listCache.clear();
+    }
+}
@@ -0,0 +1,163 @@
+package com.blog.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * 进程内有界缓存
+ *
+ * 按访问顺序做LRU淘汰，并为每个条目设置过期时间。读写均在对象锁内完成，
+ * 适合条目数在数千到数万之间、以读为主的场景。
+ */
+public class LocalCache<K, V> {
+
+    private final int maximumSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LocalCache(int maximumSize, Duration ttl) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LocalCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存值，不存在或已过期时返回null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    /**
+     * 写入缓存值
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * 写入缓存值并指定过期时间点（毫秒时间戳），不会超过缓存的默认有效期
+     */
+    public synchronized void put(K key, V value, long expireAt) {
+        entries.put(key, new Entry<>(value, Math.min(expireAt, System.currentTimeMillis() + ttlMillis)));
+    }
+
+    /**
+     * 用函数更新未过期的条目并保留原过期时间，条目不存在时不做任何事
+     */
+    public synchronized void computeIfPresent(K key, UnaryOperator<V> remapping) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+            entries.put(key, new Entry<>(remapping.apply(entry.value()), entry.expireAt()));
+        }
+    }
+
+    /**
+     * 移除指定缓存
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * 清理已过期的条目
+     */
+    public synchronized void cleanUp() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now)) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 注册命中、未命中、淘汰次数和条目数指标
+     */
+    public void bindTo(MeterRegistry registry, String name, String level) {
+        FunctionCounter.builder("blog.cache.gets", this, LocalCache::hitCount)
+                .tags("cache", name, "level", level, "result", "hit")
+                .description("缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder("blog.cache.gets", this, LocalCache::missCount)
+                .tags("cache", name, "level", level, "result", "miss")
+                .description("缓存未命中次数")
+                .register(registry);
+        FunctionCounter.builder("blog.cache.evictions", this, LocalCache::evictionCount)
+                .tags("cache", name, "level", level)
+                .description("缓存淘汰次数")
+                .register(registry);
+        Gauge.builder("blog.cache.size", this, LocalCache::size)
+                .tags("cache", name, "level", level)
+                .description("缓存条目数")
+                .register(registry);
+    }
+
+    private record Entry<V>(V value, long expireAt) {
+
+        boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+}
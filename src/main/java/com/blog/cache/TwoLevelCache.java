@@ -0,0 +1,222 @@
+package com.blog.cache;
+
+import com.blog.util.TransactionUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 两级读穿透缓存
+ *
+ * 一级为进程内的 {@link LocalCache}，二级为Redis。读取时依次查询两级缓存，都未命中才调用加载函数，
+ * 并回填两级缓存。Redis不可用时自动降级为只使用本地缓存。
+ *
+ * 移除和清空除了删除Redis中的条目，还会通过Redis发布订阅通知其他实例清除各自的本地缓存。
+ * 通知最多送达一次，订阅断线期间漏掉的通知不会补发，此时其他实例的本地缓存最多过时一个本地缓存有效期（local-ttl）；
+ * 未启用Redis时不通知，多实例部署下同样以local-ttl为过时上限。
+ */
+@Slf4j
+public class TwoLevelCache {
+
+    private static final String KEY_PREFIX = "blog:cache:";
+    private static final String CHANNEL = "blog:cache:invalidations";
+    /**
+     * 本进程发出的失效通知带上该标识，收到自己的通知时忽略
+     */
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final String name;
+    private final LocalCache<String, Object> localCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration redisTtl;
+    private final String indexKey;
+
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+
+    /**
+     * @param redisTemplate     为null时不使用二级缓存
+     * @param listenerContainer 为null时不接收其他实例的失效通知
+     */
+    public TwoLevelCache(String name, LocalCache<String, Object> localCache,
+                         RedisTemplate<String, Object> redisTemplate, Duration redisTtl,
+                         RedisMessageListenerContainer listenerContainer) {
+        this.name = name;
+        this.localCache = localCache;
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = redisTtl;
+        this.indexKey = KEY_PREFIX + name + ":keys";
+        if (redisTemplate != null && listenerContainer != null) {
+            listenerContainer.addMessageListener((message, pattern) ->
+                    onInvalidation(redisTemplate.getValueSerializer().deserialize(message.getBody())),
+                    new ChannelTopic(CHANNEL));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 读取缓存，未命中时调用加载函数并回填
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Object value = localCache.get(key);
+        if (value != null) {
+            return (T) value;
+        }
+
+        value = getFromRedis(key);
+        if (value != null) {
+            localCache.put(key, value);
+            return (T) value;
+        }
+
+        T loaded = loader.get();
+        if (loaded != null) {
+            localCache.put(key, loaded);
+            putToRedis(key, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 移除指定缓存；处于事务中时，提交后会再移除一次，防止并发读取回填事务提交前的旧数据
+     */
+    public void evict(String key) {
+        doEvict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionUtils.afterCommit(() -> doEvict(key));
+        }
+    }
+
+    /**
+     * 清空缓存；处于事务中时，提交后会再清空一次
+     */
+    public void clear() {
+        doClear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionUtils.afterCommit(this::doClear);
+        }
+    }
+
+    /**
+     * 注册两级缓存的指标
+     */
+    public void bindTo(MeterRegistry registry) {
+        localCache.bindTo(registry, name, "l1");
+        if (redisTemplate == null) {
+            return;
+        }
+        FunctionCounter.builder("blog.cache.gets", redisHits, LongAdder::sum)
+                .tags("cache", name, "level", "l2", "result", "hit")
+                .description("缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder("blog.cache.gets", redisMisses, LongAdder::sum)
+                .tags("cache", name, "level", "l2", "result", "miss")
+                .description("缓存未命中次数")
+                .register(registry);
+    }
+
+    private Object getFromRedis(String key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(redisKey(key));
+            if (value != null) {
+                redisHits.increment();
+            } else {
+                redisMisses.increment();
+            }
+            return value;
+        } catch (Exception e) {
+            log.warn("读取Redis缓存失败，cache: {}, key: {}", name, key, e);
+            redisMisses.increment();
+            return null;
+        }
+    }
+
+    private void putToRedis(String key, Object value) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            String redisKey = redisKey(key);
+            redisTemplate.opsForValue().set(redisKey, value, redisTtl);
+            redisTemplate.opsForSet().add(indexKey, redisKey);
+            redisTemplate.expire(indexKey, redisTtl);
+        } catch (Exception e) {
+            log.warn("写入Redis缓存失败，cache: {}, key: {}", name, key, e);
+        }
+    }
+
+    private void doEvict(String key) {
+        localCache.invalidate(key);
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            String redisKey = redisKey(key);
+            redisTemplate.delete(redisKey);
+            redisTemplate.opsForSet().remove(indexKey, redisKey);
+            redisTemplate.convertAndSend(CHANNEL, new Invalidation(INSTANCE_ID, name, key));
+        } catch (Exception e) {
+            log.warn("删除Redis缓存失败，cache: {}, key: {}", name, key, e);
+        }
+    }
+
+    private void doClear() {
+        localCache.invalidateAll();
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            Set<Object> keys = redisTemplate.opsForSet().members(indexKey);
+            if (keys != null && !keys.isEmpty()) {
+                redisTemplate.delete(keys.stream().map(String::valueOf).toList());
+            }
+            redisTemplate.delete(indexKey);
+            redisTemplate.convertAndSend(CHANNEL, new Invalidation(INSTANCE_ID, name, null));
+        } catch (Exception e) {
+            log.warn("清空Redis缓存失败，cache: {}", name, e);
+        }
+    }
+
+    private String redisKey(String key) {
+        return KEY_PREFIX + name + ":" + key;
+    }
+
+    /**
+     * 处理其他实例的失效通知，只清除本地缓存
+     */
+    private void onInvalidation(Object message) {
+        if (!(message instanceof Invalidation invalidation)
+                || INSTANCE_ID.equals(invalidation.instanceId()) || !name.equals(invalidation.cache())) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(invalidation.key());
+        }
+    }
+
+    /**
+     * 失效通知，key为null表示清空整个缓存
+     */
+    private record Invalidation(String instanceId, String cache, String key) implements Serializable {
+    }
+}
@@ -0,0 +1,225 @@
+package com.blog.cache;
+
+import com.blog.dto.UserDto;
+import com.blog.util.TransactionUtils;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 用户资料缓存
+ *
+ * 每个用户只缓存一份UserDto，可以通过ID、用户名、邮箱和GitHub ID四种键访问。
+ * 主表按ID做LRU淘汰并设置过期时间，二级键只保存到ID的映射，与主表条目在同一把锁内同步增删，
+ * 因此条目被淘汰、移除或替换时，它的旧用户名、旧邮箱等键也一并失效。
+ */
+@Component
+public class UserProfileCache {
+
+    private final int maximumSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<Long, Entry> entries;
+    private final Map<String, Long> keys = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserProfileCache(MeterRegistry meterRegistry,
+                            @Value("${blog.cache.user-profile-max-size:10000}") int maxSize,
+                            @Value("${blog.cache.user-profile-ttl:5m}") Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于0");
+        }
+        this.maximumSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maximumSize) {
+                    unindex(eldest.getValue().user());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        bindTo(meterRegistry);
+    }
+
+    public UserDto getById(Long id) {
+        return id == null ? null : lookup(id);
+    }
+
+    public UserDto getByUsername(String username) {
+        return getByKey(usernameKey(username));
+    }
+
+    public UserDto getByEmail(String email) {
+        return getByKey(emailKey(email));
+    }
+
+    public UserDto getByGithubId(String githubId) {
+        return getByKey(githubKey(githubId));
+    }
+
+    /**
+     * 批量按ID获取用户，未命中的ID交给loader一次加载，不存在的用户不返回
+     */
+    public Map<Long, UserDto> getAll(Collection<Long> ids, Function<Set<Long>, Map<Long, UserDto>> loader) {
+        Map<Long, UserDto> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            UserDto user = getById(id);
+            if (user != null) {
+                result.put(id, user);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, UserDto> loaded = loader.apply(missing);
+            loaded.values().forEach(this::put);
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    /**
+     * 写入用户，替换同ID的旧条目；二级键已指向其他用户时，该用户的条目视为过期一并移除
+     */
+    public synchronized void put(UserDto user) {
+        if (user == null || user.id() == null) {
+            return;
+        }
+        Entry previous = entries.remove(user.id());
+        if (previous != null) {
+            unindex(previous.user());
+        }
+        for (String key : keysOf(user)) {
+            Long owner = keys.get(key);
+            if (owner != null && !owner.equals(user.id())) {
+                remove(owner);
+            }
+        }
+        entries.put(user.id(), new Entry(user, System.currentTimeMillis() + ttlMillis));
+        for (String key : keysOf(user)) {
+            keys.put(key, user.id());
+        }
+    }
+
+    /**
+     * 移除用户及其全部二级键，事务中调用时提交后会再移除一次，避免并发读取把旧数据写回
+     */
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        remove(id);
+        TransactionUtils.afterCommit(() -> remove(id));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized UserDto getByKey(String key) {
+        Long id = key != null ? keys.get(key) : null;
+        if (id == null) {
+            misses.increment();
+            return null;
+        }
+        return lookup(id);
+    }
+
+    private synchronized UserDto lookup(Long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expireAt()) {
+            remove(id);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.user();
+    }
+
+    private synchronized void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            unindex(entry.user());
+        }
+    }
+
+    private void unindex(UserDto user) {
+        for (String key : keysOf(user)) {
+            keys.remove(key, user.id());
+        }
+    }
+
+    private static List<String> keysOf(UserDto user) {
+        List<String> result = new ArrayList<>(3);
+        addIfPresent(result, usernameKey(user.username()));
+        addIfPresent(result, emailKey(user.email()));
+        addIfPresent(result, githubKey(user.githubId()));
+        return result;
+    }
+
+    private static void addIfPresent(List<String> keys, String key) {
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+
+    private static String usernameKey(String username) {
+        return username != null ? "username:" + username : null;
+    }
+
+    private static String emailKey(String email) {
+        return email != null ? "email:" + email : null;
+    }
+
+    private static String githubKey(String githubId) {
+        return githubId != null ? "github:" + githubId : null;
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("blog.cache.gets", hits, LongAdder::sum)
+                .tags("cache", "user.profile", "level", "local", "result", "hit")
+                .description("缓存命中次数")
+                .register(registry);
+        FunctionCounter.builder("blog.cache.gets", misses, LongAdder::sum)
+                .tags("cache", "user.profile", "level", "local", "result", "miss")
+                .description("缓存未命中次数")
+                .register(registry);
+        FunctionCounter.builder("blog.cache.evictions", evictions, LongAdder::sum)
+                .tags("cache", "user.profile", "level", "local")
+                .description("缓存淘汰次数")
+                .register(registry);
+        Gauge.builder("blog.cache.size", this, UserProfileCache::size)
+                .tags("cache", "user.profile", "level", "local")
+                .description("缓存条目数")
+                .register(registry);
+    }
+
+    private record Entry(UserDto user, long expireAt) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.blog.config;
+
+import com.blog.enums.UserRole;
+import com.blog.security.JwtAuthenticationFilter;
+import com.blog.security.JwtTokenProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Spring Security配置类
+ *
+ * 无状态会话，认证信息只来自请求头中的JWT。读接口和登录入口允许匿名访问，
+ * 内容维护、评论审核和用户管理需要管理员角色，其余写操作需要登录。
+ */
+@Configuration
+public class SecurityConfig {
+
+    private static final String ADMIN = UserRole.ADMIN.name();
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtTokenProvider jwtTokenProvider) throws Exception {
+        http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(exception -> exception
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeHttpRequests(auth -> auth
+                        // 匿名访问量上报
+                        .requestMatchers(HttpMethod.PUT, "/articles/*/view").permitAll()
+                        // 文章、分类、标签的维护
+                        .requestMatchers(HttpMethod.POST, "/articles", "/articles/import").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/articles/*", "/articles/*/status").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/articles/*").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/categories", "/api/tags").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/categories/*", "/api/tags/*").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/api/categories/*", "/api/tags/*").hasRole(ADMIN)
+                        // 评论审核，包括未通过审核评论的查询和统计
+                        .requestMatchers(HttpMethod.POST, "/api/comments/moderation").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/comments/*/status").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.GET, "/api/comments/status/*", "/api/comments/article/*/all",
+                                "/api/comments/count/pending", "/api/comments/count/status").hasRole(ADMIN)
+                        // 用户管理
+                        .requestMatchers(HttpMethod.GET, "/api/users").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.POST, "/api/users", "/api/users/batch").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.PUT, "/api/users/*").hasRole(ADMIN)
+                        .requestMatchers(HttpMethod.DELETE, "/api/users/*").hasRole(ADMIN)
+                        // 本人或管理员，归属由控制器校验
+                        .requestMatchers(HttpMethod.GET, "/api/comments/user/*/cursor", "/api/comments/user/*/export").authenticated()
+                        // 读接口和GitHub登录入口
+                        .requestMatchers(HttpMethod.GET, "/**").permitAll()
+                        // 其余写操作（发表、删除评论，退出登录，刷新令牌等）需要登录
+                        .anyRequest().authenticated())
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class);
+        return http.build();
+    }
+}
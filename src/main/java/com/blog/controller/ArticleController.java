@@ -2,18 +2,30 @@ package com.blog.controller;
 
 import com.blog.dto.ApiResponse;
 import com.blog.dto.ArticleDto;
+import com.blog.dto.ArticleImportResult;
+import com.blog.dto.ArticleSummaryDto;
 import com.blog.dto.CreateArticleRequest;
+import com.blog.dto.CursorPage;
+import com.blog.enums.ArticleStatus;
+import com.blog.enums.RankingWindow;
+import com.blog.service.ArticleImportService;
 import com.blog.service.ArticleService;
+import com.blog.util.HashUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -31,16 +43,47 @@ public class ArticleController {
     @Autowired
     private ArticleService articleService;
     
+    @Autowired
+    private ArticleImportService articleImportService;
+    
     @GetMapping
     @Operation(summary = "获取文章列表")
-    public ResponseEntity<ApiResponse<IPage<ArticleDto>>> getArticles(
+    public ResponseEntity<ApiResponse<IPage<ArticleSummaryDto>>> getArticles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createTime") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean expand) {
+        try {
+            IPage<ArticleSummaryDto> articles = expandRelations(
+                    articleService.getArticles(page, size, sortBy, sortDir), expand);
+            return ResponseEntity.ok(ApiResponse.success("获取文章列表成功", articles));
+        } catch (Exception e) {
+            log.error("获取文章列表失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("获取文章列表失败"));
+        }
+    }
+    
+    @GetMapping("/cursor")
+    @Operation(summary = "按游标获取文章列表")
+    public ResponseEntity<ApiResponse<CursorPage<ArticleSummaryDto>>> getArticlesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long tagId,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean expand) {
         try {
-            IPage<ArticleDto> articles = articleService.getArticles(page, size, sortBy, sortDir);
+            CursorPage<ArticleSummaryDto> articles = articleService.getArticlesByCursor(
+                    cursor, size, categoryId, tagId, withTotal);
+            if (expand) {
+                articles = new CursorPage<>(articleService.loadRelations(articles.records()),
+                        articles.nextCursor(), articles.hasMore(), articles.total());
+            }
             return ResponseEntity.ok(ApiResponse.success("获取文章列表成功", articles));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("获取文章列表失败", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -50,10 +93,20 @@ public class ArticleController {
     
     @GetMapping("/{id}")
     @Operation(summary = "获取文章详情")
-    public ResponseEntity<ApiResponse<ArticleDto>> getArticleById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<ArticleDto>> getArticleById(@PathVariable Long id, WebRequest webRequest) {
         try {
             ArticleDto article = articleService.getArticleById(id);
-            return ResponseEntity.ok(ApiResponse.success("获取文章详情成功", article));
+            String etag = articleETag(article);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+            }
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("获取文章详情成功", article));
         } catch (Exception e) {
             log.error("获取文章详情失败", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -76,14 +129,71 @@ public class ArticleController {
         }
     }
     
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "批量导入文章", description = "请求体为NDJSON，每行一篇文章，导入后为草稿状态")
+    public ResponseEntity<ApiResponse<ArticleImportResult>> importArticles(InputStream body) {
+        try {
+            ArticleImportResult result = articleImportService.importArticles(body);
+            return ResponseEntity.ok(ApiResponse.success("导入文章完成", result));
+        } catch (Exception e) {
+            log.error("导入文章失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("导入文章失败"));
+        }
+    }
+    
+    @PutMapping("/{id}")
+    @Operation(summary = "更新文章")
+    public ResponseEntity<ApiResponse<ArticleDto>> updateArticle(
+            @PathVariable Long id,
+            @Valid @RequestBody CreateArticleRequest request) {
+        try {
+            ArticleDto article = articleService.updateArticle(id, request);
+            return ResponseEntity.ok(ApiResponse.success("更新文章成功", article));
+        } catch (Exception e) {
+            log.error("更新文章失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("更新文章失败"));
+        }
+    }
+    
+    @PutMapping("/{id}/status")
+    @Operation(summary = "更新文章状态")
+    public ResponseEntity<ApiResponse<ArticleDto>> updateArticleStatus(
+            @PathVariable Long id,
+            @RequestParam ArticleStatus status) {
+        try {
+            ArticleDto article = articleService.updateArticleStatus(id, status);
+            return ResponseEntity.ok(ApiResponse.success("更新文章状态成功", article));
+        } catch (Exception e) {
+            log.error("更新文章状态失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("更新文章状态失败"));
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    @Operation(summary = "删除文章")
+    public ResponseEntity<ApiResponse<Void>> deleteArticle(@PathVariable Long id) {
+        try {
+            articleService.deleteArticle(id);
+            return ResponseEntity.ok(ApiResponse.success("删除文章成功", null));
+        } catch (Exception e) {
+            log.error("删除文章失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("删除文章失败"));
+        }
+    }
+    
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "根据分类获取文章")
-    public ResponseEntity<ApiResponse<IPage<ArticleDto>>> getArticlesByCategory(
+    public ResponseEntity<ApiResponse<IPage<ArticleSummaryDto>>> getArticlesByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean expand) {
         try {
-            IPage<ArticleDto> articles = articleService.getArticlesByCategory(categoryId, page, size);
+            IPage<ArticleSummaryDto> articles = expandRelations(articleService.getArticlesByCategory(categoryId, page, size), expand);
             return ResponseEntity.ok(ApiResponse.success("获取分类文章成功", articles));
         } catch (Exception e) {
             log.error("获取分类文章失败", e);
@@ -94,12 +204,13 @@ public class ArticleController {
     
     @GetMapping("/tag/{tagId}")
     @Operation(summary = "根据标签获取文章")
-    public ResponseEntity<ApiResponse<IPage<ArticleDto>>> getArticlesByTag(
+    public ResponseEntity<ApiResponse<IPage<ArticleSummaryDto>>> getArticlesByTag(
             @PathVariable Long tagId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean expand) {
         try {
-            IPage<ArticleDto> articles = articleService.getArticlesByTag(tagId, page, size);
+            IPage<ArticleSummaryDto> articles = expandRelations(articleService.getArticlesByTag(tagId, page, size), expand);
             return ResponseEntity.ok(ApiResponse.success("获取标签文章成功", articles));
         } catch (Exception e) {
             log.error("获取标签文章失败", e);
@@ -110,12 +221,13 @@ public class ArticleController {
     
     @GetMapping("/search")
     @Operation(summary = "搜索文章")
-    public ResponseEntity<ApiResponse<IPage<ArticleDto>>> searchArticles(
+    public ResponseEntity<ApiResponse<IPage<ArticleSummaryDto>>> searchArticles(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean expand) {
         try {
-            IPage<ArticleDto> articles = articleService.searchArticles(keyword, page, size);
+            IPage<ArticleSummaryDto> articles = expandRelations(articleService.searchArticles(keyword, page, size), expand);
             return ResponseEntity.ok(ApiResponse.success("搜索文章成功", articles));
         } catch (Exception e) {
             log.error("搜索文章失败", e);
@@ -126,10 +238,15 @@ public class ArticleController {
     
     @GetMapping("/popular")
     @Operation(summary = "获取热门文章")
-    public ResponseEntity<ApiResponse<List<ArticleDto>>> getPopularArticles(
-            @RequestParam(defaultValue = "5") int limit) {
+    public ResponseEntity<ApiResponse<List<ArticleSummaryDto>>> getPopularArticles(
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "ALL") RankingWindow window,
+            @RequestParam(defaultValue = "false") boolean expand) {
         try {
-            List<ArticleDto> articles = articleService.getPopularArticles(limit);
+            List<ArticleSummaryDto> articles = articleService.getPopularArticles(limit, window);
+            if (expand) {
+                articles = articleService.loadRelations(articles);
+            }
             return ResponseEntity.ok(ApiResponse.success("获取热门文章成功", articles));
         } catch (Exception e) {
             log.error("获取热门文章失败", e);
@@ -139,15 +256,41 @@ public class ArticleController {
     }
     
     @PutMapping("/{id}/view")
-    @Operation(summary = "更新文章访问量")
-    public ResponseEntity<ApiResponse<Void>> incrementViewCount(@PathVariable Long id) {
-        try {
-            articleService.incrementViewCount(id);
-            return ResponseEntity.ok(ApiResponse.success("更新访问量成功", null));
-        } catch (Exception e) {
-            log.error("更新访问量失败", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(ApiResponse.error("更新访问量失败"));
+    @Operation(summary = "更新文章访问量", description = "访问事件异步处理，立即返回202")
+    public ResponseEntity<ApiResponse<Void>> incrementViewCount(@PathVariable Long id, HttpServletRequest request) {
+        // 代理转发的客户端地址由Tomcat按可信代理解析，请求头不能直接伪造
+        articleService.trackView(id, request.getRemoteAddr());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(ApiResponse.success("已记录访问", null));
+    }
+    
+    /**
+     * 文章详情的弱ETag，由内容哈希和展示字段计算。响应体中的访问量和评论数不参与计算，
+     * 计数变化时响应体不再逐字节相同，因此只能作为弱校验值：返回304时客户端保留的计数可能已过时
+     */
+    private static String articleETag(ArticleDto article) {
+        String fingerprint = String.join("|",
+            String.valueOf(article.id()),
+            String.valueOf(article.contentHash()),
+            article.title(),
+            article.summary(),
+            article.author(),
+            String.valueOf(article.status()),
+            String.valueOf(article.categoryId()),
+            String.valueOf(article.coverImage()),
+            String.valueOf(article.updateTime()));
+        return "W/\"" + HashUtils.sha256Hex(fingerprint).substring(0, 32) + "\"";
+    }
+    
+    /**
+     * 按需为分页结果填充分类和标签，返回新的分页对象以免修改缓存中的结果
+     */
+    private IPage<ArticleSummaryDto> expandRelations(IPage<ArticleSummaryDto> articles, boolean expand) {
+        if (!expand) {
+            return articles;
         }
+        Page<ArticleSummaryDto> expanded = new Page<>(articles.getCurrent(), articles.getSize(), articles.getTotal());
+        expanded.setRecords(articleService.loadRelations(articles.getRecords()));
+        return expanded;
     }
 }
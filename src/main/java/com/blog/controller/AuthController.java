@@ -0,0 +1,153 @@
+package com.blog.controller;
+
+import com.blog.dto.ApiResponse;
+import com.blog.dto.TokenDto;
+import com.blog.dto.UserDto;
+import com.blog.security.GitHubOAuthClient;
+import com.blog.security.JwtPrincipal;
+import com.blog.security.JwtTokenProvider;
+import com.blog.security.TokenRevocationService;
+import com.blog.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 认证控制器
+ *
+ * GitHub登录先经过 /github 发放随机state：state写入只对GitHub登录路径可见的HttpOnly Cookie，
+ * 同时随授权地址交给GitHub。回调时state必须与同一浏览器的Cookie一致，否则拒绝，防止登录CSRF。
+ */
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "认证管理", description = "登录令牌相关接口")
+@Slf4j
+public class AuthController {
+
+    private static final String STATE_COOKIE = "github_oauth_state";
+    private static final int STATE_BYTES = 32;
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final GitHubOAuthClient gitHubOAuthClient;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserService userService;
+    private final Duration stateTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    public AuthController(JwtTokenProvider jwtTokenProvider,
+                          GitHubOAuthClient gitHubOAuthClient,
+                          TokenRevocationService tokenRevocationService,
+                          UserService userService,
+                          @Value("${github.state-ttl:10m}") Duration stateTtl) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.gitHubOAuthClient = gitHubOAuthClient;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userService = userService;
+        this.stateTtl = stateTtl;
+    }
+
+    @GetMapping("/github")
+    @Operation(summary = "发起GitHub登录", description = "发放登录state并重定向到GitHub授权页")
+    public ResponseEntity<Void> authorizeWithGithub(HttpServletRequest request) {
+        byte[] bytes = new byte[STATE_BYTES];
+        random.nextBytes(bytes);
+        String state = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .header(HttpHeaders.LOCATION, gitHubOAuthClient.authorizeUrl(state))
+                .header(HttpHeaders.SET_COOKIE, stateCookie(request, state, stateTtl).toString())
+                .build();
+    }
+
+    @GetMapping("/github/callback")
+    @Operation(summary = "GitHub登录", description = "用GitHub授权码登录，首次登录自动创建用户")
+    public ResponseEntity<ApiResponse<TokenDto>> loginWithGithub(
+            @Parameter(description = "GitHub授权码") @RequestParam String code,
+            @Parameter(description = "发起登录时发放的state") @RequestParam String state,
+            @Parameter(hidden = true) @CookieValue(name = STATE_COOKIE, required = false) String expectedState,
+            HttpServletRequest request) {
+        // state只能使用一次，无论成败都清除Cookie
+        String clearCookie = stateCookie(request, "", Duration.ZERO).toString();
+        if (expectedState == null || !MessageDigest.isEqual(
+                expectedState.getBytes(StandardCharsets.US_ASCII), state.getBytes(StandardCharsets.US_ASCII))) {
+            return ResponseEntity.badRequest()
+                    .header(HttpHeaders.SET_COOKIE, clearCookie)
+                    .body(ApiResponse.error("登录状态校验失败，请重新发起登录"));
+        }
+        try {
+            GitHubOAuthClient.GitHubUser githubUser = gitHubOAuthClient.fetchUser(code);
+            UserDto user = userService.createOrUpdateUserByGithubId(
+                    githubUser.githubId(), githubUser.login(), githubUser.email(), githubUser.avatarUrl());
+            String token = jwtTokenProvider.generateToken(user.id(), user.username(), user.role());
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, clearCookie)
+                    .body(ApiResponse.success("登录成功", new TokenDto(token, jwtTokenProvider.getExpirationSeconds())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header(HttpHeaders.SET_COOKIE, clearCookie)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("GitHub登录失败", e);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, clearCookie)
+                    .body(ApiResponse.error("GitHub登录失败: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "退出登录", description = "吊销当前访问令牌")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @Parameter(hidden = true) @AuthenticationPrincipal JwtPrincipal principal) {
+        try {
+            tokenRevocationService.revoke(principal);
+            return ResponseEntity.ok(ApiResponse.success("退出登录成功"));
+        } catch (Exception e) {
+            log.error("退出登录失败，用户ID: {}", principal.id(), e);
+            return ResponseEntity.ok(ApiResponse.error("退出登录失败: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "刷新令牌", description = "签发新的访问令牌并吊销当前令牌")
+    public ResponseEntity<ApiResponse<TokenDto>> refresh(
+            @Parameter(hidden = true) @AuthenticationPrincipal JwtPrincipal principal) {
+        try {
+            // 刷新时重新读取用户，已删除的用户不能续期，角色变更在新令牌中生效
+            UserDto user = userService.getUserById(principal.id());
+            String token = jwtTokenProvider.generateToken(user.id(), user.username(), user.role());
+            tokenRevocationService.revoke(principal);
+            return ResponseEntity.ok(ApiResponse.success("刷新令牌成功",
+                    new TokenDto(token, jwtTokenProvider.getExpirationSeconds())));
+        } catch (Exception e) {
+            log.error("刷新令牌失败，用户ID: {}", principal.id(), e);
+            return ResponseEntity.ok(ApiResponse.error("刷新令牌失败: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * state Cookie只发往GitHub登录路径，SameSite=Lax保证从GitHub跳回的顶层导航仍会携带
+     */
+    private static ResponseCookie stateCookie(HttpServletRequest request, String value, Duration maxAge) {
+        return ResponseCookie.from(STATE_COOKIE, value)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .path(request.getContextPath() + "/api/auth/github")
+                .maxAge(maxAge)
+                .build();
+    }
+}
@@ -4,19 +4,36 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.dto.ApiResponse;
 import com.blog.dto.CommentDto;
+import com.blog.dto.CommentModerationRequest;
+import com.blog.dto.CommentModerationResult;
+import com.blog.dto.CommentThreadDto;
 import com.blog.dto.CreateCommentRequest;
+import com.blog.dto.CursorPage;
 import com.blog.entity.Comment;
 import com.blog.enums.CommentStatus;
+import com.blog.enums.UserRole;
+import com.blog.security.JwtPrincipal;
 import com.blog.service.CommentService;
+import com.blog.service.support.CommentStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 评论控制器
@@ -29,6 +46,7 @@ import jakarta.validation.Valid;
 public class CommentController {
 
     private final CommentService commentService;
+    private final CommentStreamHub commentStreamHub;
 
     @GetMapping("/{id}")
     @Operation(summary = "根据ID获取评论", description = "根据评论ID获取评论详细信息")
@@ -43,6 +61,19 @@ public class CommentController {
         }
     }
 
+    @GetMapping("/{id}/thread")
+    @Operation(summary = "获取评论楼层", description = "获取以指定评论为根的回复树，展示深度和回复数受配置限制")
+    public ResponseEntity<ApiResponse<CommentThreadDto>> getCommentThread(
+            @Parameter(description = "评论ID") @PathVariable Long id) {
+        try {
+            CommentThreadDto thread = commentService.getCommentThread(id);
+            return ResponseEntity.ok(ApiResponse.success("获取评论楼层成功", thread));
+        } catch (Exception e) {
+            log.error("获取评论楼层失败，ID: {}", id, e);
+            return ResponseEntity.ok(ApiResponse.error("获取评论楼层失败: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/article/{articleId}")
     @Operation(summary = "获取文章评论", description = "获取指定文章的已批准评论")
     public ResponseEntity<ApiResponse<IPage<CommentDto>>> getCommentsByArticleId(
@@ -59,6 +90,37 @@ public class CommentController {
         }
     }
 
+    @GetMapping("/article/{articleId}/cursor")
+    @Operation(summary = "按游标获取文章评论",
+            description = "cursor向前翻页获取更早的评论；after轮询获取该游标之后新增的评论，可传入返回的latestCursor")
+    public ResponseEntity<ApiResponse<CursorPage<CommentDto>>> getCommentsByArticleIdAndCursor(
+            @Parameter(description = "文章ID") @PathVariable Long articleId,
+            @Parameter(description = "翻页游标") @RequestParam(required = false) String cursor,
+            @Parameter(description = "轮询游标") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<CommentDto> comments = commentService.getApprovedCommentsByCursor(articleId, cursor, after, size);
+            return ResponseEntity.ok(ApiResponse.success("获取评论成功", comments));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("获取文章评论失败，文章ID: {}", articleId, e);
+            return ResponseEntity.ok(ApiResponse.error("获取评论失败: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/article/{articleId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅文章新评论", description = "SSE推送文章新审核通过的评论，事件ID可作为游标接口的after参数")
+    public ResponseEntity<SseEmitter> streamComments(
+            @Parameter(description = "文章ID") @PathVariable Long articleId) {
+        try {
+            return ResponseEntity.ok(commentStreamHub.subscribe(articleId));
+        } catch (IllegalStateException e) {
+            log.warn("订阅评论推送失败，文章ID: {}, 原因: {}", articleId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     @GetMapping("/article/{articleId}/all")
     @Operation(summary = "获取文章所有评论（管理员）", description = "获取指定文章的所有评论，包括待审核的")
     public ResponseEntity<ApiResponse<IPage<CommentDto>>> getAllCommentsByArticleId(
@@ -107,13 +169,49 @@ public class CommentController {
         }
     }
 
+    @GetMapping("/user/{userId}/cursor")
+    @Operation(summary = "按游标获取用户评论", description = "按时间从新到旧翻页获取指定用户的全部评论，包括未审核的评论，仅限本人或管理员")
+    public ResponseEntity<ApiResponse<CursorPage<CommentDto>>> getCommentsByUserIdAndCursor(
+            @Parameter(description = "用户ID") @PathVariable Long userId,
+            @Parameter(description = "翻页游标") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(hidden = true) @AuthenticationPrincipal JwtPrincipal principal) {
+        if (!isSelfOrAdmin(principal, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("无权查看该用户的评论"));
+        }
+        try {
+            CursorPage<CommentDto> comments = commentService.getCommentsByUserIdAndCursor(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("获取评论成功", comments));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("获取用户评论失败，用户ID: {}", userId, e);
+            return ResponseEntity.ok(ApiResponse.error("获取评论失败: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/user/{userId}/export", produces = "application/x-ndjson")
+    @Operation(summary = "导出用户评论", description = "以NDJSON流式导出指定用户的全部评论，每行一条")
+    public ResponseEntity<StreamingResponseBody> exportCommentsByUserId(
+            @Parameter(description = "用户ID") @PathVariable Long userId,
+            @Parameter(hidden = true) @AuthenticationPrincipal JwtPrincipal principal) {
+        if (!isSelfOrAdmin(principal, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        StreamingResponseBody body = output -> commentService.exportCommentsByUserId(userId, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("comments-user-" + userId + ".ndjson").build().toString())
+                .body(body);
+    }
+
     @PostMapping
     @Operation(summary = "创建评论", description = "创建新评论")
     public ResponseEntity<ApiResponse<CommentDto>> createComment(
             @Parameter(description = "评论信息") @Valid @RequestBody CreateCommentRequest request,
-            @Parameter(description = "用户ID") @RequestParam Long userId) {
+            @Parameter(hidden = true) @AuthenticationPrincipal JwtPrincipal principal) {
         try {
-            CommentDto createdComment = commentService.createComment(request, userId);
+            CommentDto createdComment = commentService.createComment(request, principal.id());
             return ResponseEntity.ok(ApiResponse.success("创建评论成功", createdComment));
         } catch (Exception e) {
             log.error("创建评论失败", e);
@@ -135,11 +233,31 @@ public class CommentController {
         }
     }
 
+    @PostMapping("/moderation")
+    @Operation(summary = "批量审核评论", description = "按ID列表或条件批量修改评论状态，返回每条评论的处理结果")
+    public ResponseEntity<ApiResponse<CommentModerationResult>> moderateComments(
+            @Parameter(description = "批量审核请求") @Valid @RequestBody CommentModerationRequest request) {
+        try {
+            CommentModerationResult result = commentService.moderateComments(request);
+            return ResponseEntity.ok(ApiResponse.success("批量审核完成", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("批量审核评论失败", e);
+            return ResponseEntity.ok(ApiResponse.error("批量审核失败: " + e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
-    @Operation(summary = "删除评论", description = "删除指定评论")
+    @Operation(summary = "删除评论", description = "删除指定评论及其全部回复")
     public ResponseEntity<ApiResponse<Void>> deleteComment(
-            @Parameter(description = "评论ID") @PathVariable Long id) {
+            @Parameter(description = "评论ID") @PathVariable Long id,
+            @Parameter(hidden = true) @AuthenticationPrincipal JwtPrincipal principal) {
         try {
+            // 作者可以删除自己的评论，其他评论只有管理员可以删除
+            if (!isSelfOrAdmin(principal, commentService.getCommentById(id).userId())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResponse.error("无权删除该评论"));
+            }
             commentService.deleteComment(id);
             return ResponseEntity.ok(ApiResponse.success("删除评论成功", null));
         } catch (Exception e) {
@@ -161,6 +279,19 @@ public class CommentController {
         }
     }
 
+    @GetMapping("/count/articles")
+    @Operation(summary = "批量统计文章评论数", description = "一次获取多篇文章的已批准评论数量，最多100篇")
+    public ResponseEntity<ApiResponse<Map<Long, Long>>> countCommentsByArticleIds(
+            @Parameter(description = "文章ID列表") @RequestParam List<Long> ids) {
+        try {
+            Map<Long, Long> counts = commentService.countApprovedByArticleIds(new LinkedHashSet<>(ids));
+            return ResponseEntity.ok(ApiResponse.success("统计成功", counts));
+        } catch (Exception e) {
+            log.error("批量统计评论数失败，文章ID: {}", ids, e);
+            return ResponseEntity.ok(ApiResponse.error("统计失败: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/count/pending")
     @Operation(summary = "统计待审核评论数", description = "统计待审核的评论数量")
     public ResponseEntity<ApiResponse<Long>> countPendingComments() {
@@ -172,5 +303,20 @@ public class CommentController {
             return ResponseEntity.ok(ApiResponse.error("统计失败: " + e.getMessage()));
         }
     }
-}
 
+    @GetMapping("/count/status")
+    @Operation(summary = "按状态统计评论数", description = "获取待审核、已通过和已拒绝的评论数量")
+    public ResponseEntity<ApiResponse<Map<CommentStatus, Long>>> countCommentsByStatus() {
+        try {
+            Map<CommentStatus, Long> counts = commentService.countCommentsByStatus();
+            return ResponseEntity.ok(ApiResponse.success("统计成功", counts));
+        } catch (Exception e) {
+            log.error("按状态统计评论数失败", e);
+            return ResponseEntity.ok(ApiResponse.error("统计失败: " + e.getMessage()));
+        }
+    }
+
+    private static boolean isSelfOrAdmin(JwtPrincipal principal, Long userId) {
+        return principal != null && (principal.role() == UserRole.ADMIN || principal.id().equals(userId));
+    }
+}
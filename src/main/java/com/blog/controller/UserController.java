@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.dto.ApiResponse;
 import com.blog.dto.UserDto;
+import com.blog.dto.UserProvisionResult;
 import com.blog.entity.User;
 import com.blog.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.List;
 
 /**
  * 用户控制器
@@ -83,6 +85,21 @@ public class UserController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "批量创建用户", description = "一次创建多个用户，最多1000个；冲突的用户跳过并返回原因")
+    public ResponseEntity<ApiResponse<UserProvisionResult>> provisionUsers(
+            @Parameter(description = "用户列表") @Valid @RequestBody List<UserDto> users) {
+        try {
+            UserProvisionResult result = userService.provisionUsers(users);
+            return ResponseEntity.ok(ApiResponse.success("批量创建用户完成", result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("批量创建用户失败", e);
+            return ResponseEntity.ok(ApiResponse.error("批量创建用户失败: " + e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "更新用户", description = "更新用户信息")
     public ResponseEntity<ApiResponse<UserDto>> updateUser(
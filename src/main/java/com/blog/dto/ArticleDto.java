@@ -1,7 +1,9 @@
 package com.blog.dto;
 
 import com.blog.enums.ArticleStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,15 +17,19 @@ public record ArticleDto(
     Long id,
     String title,
     String content,
+    String contentHtml,
+    @JsonIgnore
+    String contentHash,
     String summary,
     String author,
     ArticleStatus status,
     Long categoryId,
     String coverImage,
     Long viewCount,
+    Long commentCount,
     LocalDateTime createTime,
     LocalDateTime updateTime
-) {
+) implements Serializable {
     public ArticleDto {
         if (title == null || title.isBlank()) {
             throw new IllegalArgumentException("标题不能为空");
@@ -38,4 +44,12 @@ public record ArticleDto(
             throw new IllegalArgumentException("作者不能为空");
         }
     }
+    
+    /**
+     * 返回替换了访问量的副本
+     */
+    public ArticleDto withViewCount(Long viewCount) {
+        return new ArticleDto(id, title, content, contentHtml, contentHash, summary, author, status,
+                categoryId, coverImage, viewCount, commentCount, createTime, updateTime);
+    }
 }
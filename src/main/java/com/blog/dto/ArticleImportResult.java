@@ -0,0 +1,26 @@
+package com.blog.dto;
+
+import java.util.List;
+
+/**
+ * 文章批量导入结果DTO
+ *
+ * @param total     读取的记录数（不含空行）
+ * @param succeeded 导入成功的记录数
+ * @param failed    导入失败的记录数
+ * @param failures  失败记录明细，最多返回前1000条
+ */
+public record ArticleImportResult(
+    long total,
+    long succeeded,
+    long failed,
+    List<Failure> failures
+) {
+    /**
+     * 导入失败的记录
+     *
+     * @param line   记录所在行号（从1开始）
+     * @param reason 失败原因
+     */
+    public record Failure(long line, String reason) {}
+}
@@ -0,0 +1,48 @@
+package com.blog.dto;
+
+import com.blog.enums.ArticleStatus;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 文章列表项DTO（不含正文）
+ */
+public record ArticleSummaryDto(
+    Long id,
+    String title,
+    String summary,
+    String author,
+    ArticleStatus status,
+    Long categoryId,
+    String coverImage,
+    Long viewCount,
+    Long commentCount,
+    LocalDateTime createTime,
+    LocalDateTime updateTime,
+    CategoryDto category,
+    List<TagDto> tags
+) implements Serializable {
+    public ArticleSummaryDto {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("标题不能为空");
+        }
+    }
+    
+    /**
+     * 返回替换了访问量的副本
+     */
+    public ArticleSummaryDto withViewCount(Long viewCount) {
+        return new ArticleSummaryDto(id, title, summary, author, status, categoryId,
+                coverImage, viewCount, commentCount, createTime, updateTime, category, tags);
+    }
+    
+    /**
+     * 返回填充了分类和标签的副本
+     */
+    public ArticleSummaryDto withRelations(CategoryDto category, List<TagDto> tags) {
+        return new ArticleSummaryDto(id, title, summary, author, status, categoryId,
+                coverImage, viewCount, commentCount, createTime, updateTime, category, tags);
+    }
+}
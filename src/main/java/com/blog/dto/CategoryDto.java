@@ -1,5 +1,6 @@
 package com.blog.dto;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 /**
@@ -15,7 +16,7 @@ public record CategoryDto(
     String icon,
     LocalDateTime createTime,
     LocalDateTime updateTime
-) {
+) implements Serializable {
     public CategoryDto {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("分类名称不能为空");
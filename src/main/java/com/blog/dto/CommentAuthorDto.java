@@ -0,0 +1,10 @@
+package com.blog.dto;
+
+/**
+ * 评论作者信息
+ */
+public record CommentAuthorDto(
+    Long id,
+    String username,
+    String avatar
+) {}
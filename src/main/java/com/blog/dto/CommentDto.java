@@ -10,15 +10,24 @@ public record CommentDto(
     Long id,
     Long articleId,
     Long userId,
+    Long parentId,
     String content,
     CommentStatus status,
     LocalDateTime createTime,
-    LocalDateTime updateTime
+    LocalDateTime updateTime,
+    CommentAuthorDto author
 ) {
     public CommentDto {
         if (content == null || content.isBlank()) {
             throw new IllegalArgumentException("评论内容不能为空");
         }
     }
+
+    /**
+     * 返回填充了作者信息的副本
+     */
+    public CommentDto withAuthor(CommentAuthorDto author) {
+        return new CommentDto(id, articleId, userId, parentId, content, status, createTime, updateTime, author);
+    }
 }
 
@@ -0,0 +1,24 @@
+package com.blog.dto;
+
+import com.blog.enums.CommentStatus;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * 批量审核评论请求对象
+ *
+ * 指定ids时按ID审核；ids为空时按条件筛选，默认审核全部待审核评论，可按文章过滤。
+ */
+public record CommentModerationRequest(
+    @NotNull(message = "目标状态不能为空")
+    CommentStatus status,
+
+    List<Long> ids,
+
+    Long articleId,
+
+    CommentStatus currentStatus,
+
+    Integer limit
+) {}
@@ -0,0 +1,29 @@
+package com.blog.dto;
+
+import com.blog.enums.CommentStatus;
+
+import java.util.List;
+
+/**
+ * 批量审核评论结果
+ *
+ * @param status    目标状态
+ * @param updated   状态被修改的评论数
+ * @param unchanged 已是目标状态的评论数
+ * @param notFound  不存在的评论数
+ * @param outcomes  每条评论的处理结果，顺序与请求一致
+ */
+public record CommentModerationResult(
+    CommentStatus status,
+    int updated,
+    int unchanged,
+    int notFound,
+    List<Outcome> outcomes
+) {
+
+    public enum Result {
+        UPDATED, UNCHANGED, NOT_FOUND
+    }
+
+    public record Outcome(Long id, Result result) {}
+}
@@ -0,0 +1,18 @@
+package com.blog.dto;
+
+import java.util.List;
+
+/**
+ * 评论楼层（评论及其回复树）
+ *
+ * @param comment     评论
+ * @param replyCount  已加载到的直接回复数
+ * @param moreReplies 是否因深度或数量限制省略了部分回复
+ * @param replies     展示的直接回复
+ */
+public record CommentThreadDto(
+    CommentDto comment,
+    int replyCount,
+    boolean moreReplies,
+    List<CommentThreadDto> replies
+) {}
@@ -11,6 +11,8 @@ public record CreateCommentRequest(
     Long articleId,
     
     @NotBlank(message = "评论内容不能为空")
-    String content
+    String content,
+
+    Long parentId
 ) {}
 
@@ -0,0 +1,24 @@
+package com.blog.dto;
+
+import java.util.List;
+
+/**
+ * 游标分页结果DTO
+ *
+ * @param records      当前页数据
+ * @param nextCursor   下一页游标，没有更多数据时为null
+ * @param hasMore      是否还有更多数据
+ * @param total        总记录数，仅在请求时统计
+ * @param latestCursor 已返回数据中最新一条的游标，用于轮询新数据，仅部分接口返回
+ */
+public record CursorPage<T>(
+    List<T> records,
+    String nextCursor,
+    boolean hasMore,
+    Long total,
+    String latestCursor
+) {
+    public CursorPage(List<T> records, String nextCursor, boolean hasMore, Long total) {
+        this(records, nextCursor, hasMore, total, null);
+    }
+}
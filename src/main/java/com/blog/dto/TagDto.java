@@ -1,5 +1,6 @@
 package com.blog.dto;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 /**
@@ -14,7 +15,7 @@ public record TagDto(
     String color,
     LocalDateTime createTime,
     LocalDateTime updateTime
-) {
+) implements Serializable {
     public TagDto {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("标签名称不能为空");
@@ -0,0 +1,18 @@
+package com.blog.dto;
+
+/**
+ * 访问令牌数据传输对象
+ *
+ * @param accessToken 访问令牌
+ * @param tokenType   令牌类型，固定为Bearer
+ * @param expiresIn   有效期（秒）
+ */
+public record TokenDto(
+    String accessToken,
+    String tokenType,
+    long expiresIn
+) {
+    public TokenDto(String accessToken, long expiresIn) {
+        this(accessToken, "Bearer", expiresIn);
+    }
+}
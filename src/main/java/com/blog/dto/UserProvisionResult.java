@@ -0,0 +1,29 @@
+package com.blog.dto;
+
+import java.util.List;
+
+/**
+ * 批量创建用户结果DTO
+ *
+ * @param total    请求中的用户数
+ * @param created  创建成功的用户数
+ * @param failed   创建失败的用户数
+ * @param users    创建成功的用户，顺序与请求一致
+ * @param failures 创建失败的用户明细
+ */
+public record UserProvisionResult(
+    int total,
+    int created,
+    int failed,
+    List<UserDto> users,
+    List<Failure> failures
+) {
+    /**
+     * 创建失败的用户
+     *
+     * @param index    在请求列表中的位置（从0开始）
+     * @param username 用户名
+     * @param reason   失败原因
+     */
+    public record Failure(int index, String username, String reason) {}
+}
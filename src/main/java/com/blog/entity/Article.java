@@ -25,6 +25,12 @@ public class Article extends BaseEntity {
     @TableField("content")
     private String content;
     
+    @TableField("content_html")
+    private String contentHtml;
+    
+    @TableField("content_hash")
+    private String contentHash;
+    
     @NotBlank(message = "文章摘要不能为空")
     @TableField("summary")
     private String summary;
@@ -42,6 +48,12 @@ public class Article extends BaseEntity {
     @TableField("cover_image")
     private String coverImage;
     
-    @TableField("view_count")
+    /**
+     * 访问量和评论数只通过专用的增量语句修改，updateById不会写回这两列
+     */
+    @TableField(value = "view_count", updateStrategy = FieldStrategy.NEVER)
     private Long viewCount = 0L;
+    
+    @TableField(value = "comment_count", updateStrategy = FieldStrategy.NEVER)
+    private Long commentCount = 0L;
 }
@@ -0,0 +1,24 @@
+package com.blog.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+/**
+ * 文章标签关联实体类
+ */
+@TableName("article_tags")
+@Data
+public class ArticleTag {
+
+    @TableField("article_id")
+    private Long articleId;
+
+    @TableField("tag_id")
+    private Long tagId;
+
+    /**
+     * 关联的标签，仅在关联查询时填充
+     */
+    @TableField(exist = false)
+    private Tag tag;
+}
@@ -26,4 +26,17 @@ public class Comment extends BaseEntity {
 
     @TableField("status")
     private CommentStatus status = CommentStatus.PENDING;
+
+    @TableField("parent_id")
+    private Long parentId;
+
+    /**
+     * 祖先路径，如 /000000000001/000000000005/，顶层评论为 /。
+     * 评论自身的路径是祖先路径加上自身ID，也是它所有回复祖先路径的公共前缀
+     */
+    @TableField("path")
+    private String path;
+
+    @TableField("depth")
+    private Integer depth = 0;
 }
@@ -0,0 +1,41 @@
+package com.blog.enums;
+
+/**
+ * 热门文章统计时间窗口枚举
+ */
+public enum RankingWindow {
+    
+    /**
+     * 最近24小时
+     */
+    DAY("最近24小时", 24),
+    
+    /**
+     * 最近7天
+     */
+    WEEK("最近7天", 24 * 7),
+    
+    /**
+     * 全部时间
+     */
+    ALL("全部时间", 0);
+    
+    private final String description;
+    private final int hours;
+    
+    RankingWindow(String description, int hours) {
+        this.description = description;
+        this.hours = hours;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * 窗口包含的小时数，ALL为0
+     */
+    public int getHours() {
+        return hours;
+    }
+}
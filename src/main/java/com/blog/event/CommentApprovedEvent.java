@@ -0,0 +1,8 @@
+package com.blog.event;
+
+import com.blog.dto.CommentDto;
+
+/**
+ * 评论审核通过事件，在事务提交后处理
+ */
+public record CommentApprovedEvent(CommentDto comment) {}
@@ -0,0 +1,8 @@
+package com.blog.event;
+
+import com.blog.dto.CommentDto;
+
+/**
+ * 评论创建事件，在事务提交后处理
+ */
+public record CommentCreatedEvent(CommentDto comment) {}
@@ -4,10 +4,13 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.entity.Article;
+import com.blog.util.SeekCursor;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文章Mapper
@@ -33,16 +36,44 @@ public interface ArticleMapper extends BaseMapper<Article> {
      */
     IPage<Article> selectByTagId(Page<Article> page, @Param("tagId") Long tagId);
     
+    /**
+     * 按游标查询已发布的文章，可按分类或标签过滤
+     */
+    List<Article> selectPublishedByCursor(@Param("categoryId") Long categoryId,
+                                          @Param("tagId") Long tagId,
+                                          @Param("cursor") SeekCursor cursor,
+                                          @Param("limit") int limit);
+    
+    /**
+     * 统计已发布文章数量，可按分类或标签过滤
+     */
+    long countPublished(@Param("categoryId") Long categoryId, @Param("tagId") Long tagId);
+    
     /**
      * 搜索文章
      */
     IPage<Article> searchArticles(Page<Article> page, @Param("keyword") String keyword);
     
+    /**
+     * 按ID批量查询已发布的文章列表项，其他状态的文章不返回
+     */
+    List<Article> selectPublishedSummariesByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 按ID顺序分批查询已发布文章（含正文），用于建立全文索引
+     */
+    List<Article> selectPublishedForIndex(@Param("afterId") Long afterId, @Param("limit") int limit);
+    
     /**
      * 获取热门文章
      */
     List<Article> selectPopularArticles(@Param("limit") int limit);
     
+    /**
+     * 查询所有已发布文章的访问量（仅ID和访问量）
+     */
+    List<Article> selectPublishedViewCounts();
+    
     /**
      * 统计已发布文章数量
      */
@@ -52,4 +83,44 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * 增加文章访问量
      */
     int incrementViewCount(@Param("id") Long id);
+    
+    /**
+     * 批量增加文章访问量（文章ID -> 增量）
+     */
+    int batchIncrementViewCount(@Param("deltas") Map<Long, Long> deltas);
+    
+    /**
+     * 调整文章的已批准评论数
+     */
+    int adjustCommentCount(@Param("id") Long id, @Param("delta") int delta);
+    
+    /**
+     * 批量调整文章的已批准评论数（文章ID -> 增量）
+     */
+    int batchAdjustCommentCount(@Param("deltas") Map<Long, Integer> deltas);
+    
+    /**
+     * 批量查询文章的已批准评论数，只填充id和commentCount
+     */
+    List<Article> selectCommentCountsByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 批量查询文章的访问量，只填充id和viewCount
+     */
+    List<Article> selectViewCountsByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 按评论表修正评论数，返回修正的文章数
+     */
+    int reconcileCommentCounts();
+    
+    /**
+     * 按ID顺序分批读取文章ID
+     */
+    List<Long> selectIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+    
+    /**
+     * 判断文章是否存在，只查主键
+     */
+    boolean existsById(@Param("id") Long id);
 }
@@ -0,0 +1,35 @@
+package com.blog.mapper;
+
+import com.blog.entity.ArticleTag;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章标签关联Mapper
+ */
+@Mapper
+public interface ArticleTagMapper {
+
+    /**
+     * 批量查询文章的标签（含标签信息）
+     */
+    List<ArticleTag> selectWithTagsByArticleIds(@Param("articleIds") Collection<Long> articleIds);
+
+    /**
+     * 插入文章标签关联
+     */
+    int insert(ArticleTag articleTag);
+
+    /**
+     * 为文章批量插入标签关联
+     */
+    int insertBatch(@Param("articleId") Long articleId, @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 删除文章的全部标签关联
+     */
+    int deleteByArticleId(@Param("articleId") Long articleId);
+}
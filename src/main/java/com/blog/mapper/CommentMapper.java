@@ -5,8 +5,14 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.entity.Comment;
 import com.blog.enums.CommentStatus;
+import com.blog.util.SeekCursor;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 评论数据访问层
@@ -14,11 +20,81 @@ import org.apache.ibatis.annotations.Param;
 @Mapper
 public interface CommentMapper extends BaseMapper<Comment> {
 
+    /**
+     * 根据ID查询评论并加行锁
+     */
+    Comment selectByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 查询评论的楼层信息（文章、状态、路径和层级）并加共享锁
+     */
+    Comment selectPathByIdForShare(@Param("id") Long id);
+
+    /**
+     * 按路径前缀查询全部回复的ID和状态并加行锁
+     */
+    List<Comment> selectSubtreeStatusForUpdate(@Param("prefix") String prefix);
+
+    /**
+     * 按路径前缀删除全部回复
+     */
+    int deleteSubtree(@Param("prefix") String prefix);
+
+    /**
+     * 按路径前缀读取评论下已批准的回复，按祖先路径排序保证父评论在前
+     */
+    List<Comment> selectApprovedSubtree(@Param("path") String path,
+                                        @Param("maxDepth") int maxDepth,
+                                        @Param("limit") int limit);
+
+    /**
+     * 根据ID列表查询评论并加行锁
+     */
+    List<Comment> selectByIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按条件查询评论ID，用于批量审核
+     */
+    List<Long> selectIdsForModeration(@Param("articleId") Long articleId,
+                                      @Param("status") CommentStatus status,
+                                      @Param("limit") int limit);
+
+    /**
+     * 批量更新评论状态
+     */
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") CommentStatus status);
+
     /**
      * 根据文章ID查找已批准的评论
      */
     IPage<Comment> selectByArticleIdAndStatusApproved(Page<Comment> page, @Param("articleId") Long articleId);
 
+    /**
+     * 按游标查询文章的已批准评论，返回早于游标的评论（从新到旧），游标为空时从最新开始
+     */
+    List<Comment> selectApprovedBefore(@Param("articleId") Long articleId,
+                                       @Param("cursor") SeekCursor cursor,
+                                       @Param("limit") int limit);
+
+    /**
+     * 按游标查询文章的已批准评论，返回晚于游标的评论（从旧到新）
+     */
+    List<Comment> selectApprovedAfter(@Param("articleId") Long articleId,
+                                      @Param("cursor") SeekCursor cursor,
+                                      @Param("limit") int limit);
+
+    /**
+     * 按游标查询用户的评论，返回早于游标的评论（从新到旧），游标为空时从最新开始
+     */
+    List<Comment> selectByUserIdBefore(@Param("userId") Long userId,
+                                       @Param("cursor") SeekCursor cursor,
+                                       @Param("limit") int limit);
+
+    /**
+     * 流式读取用户的全部评论（从旧到新），需在事务内遍历并关闭
+     */
+    Cursor<Comment> streamByUserId(@Param("userId") Long userId);
+
     /**
      * 根据文章ID查找所有评论
      */
@@ -44,6 +120,11 @@ public interface CommentMapper extends BaseMapper<Comment> {
      */
     long countByStatus(@Param("status") CommentStatus status);
 
+    /**
+     * 按状态分组统计评论数量（status -> total）
+     */
+    List<Map<String, Object>> countGroupByStatus();
+
     /**
      * 根据文章ID删除评论
      */
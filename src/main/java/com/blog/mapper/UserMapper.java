@@ -5,6 +5,9 @@ import com.blog.entity.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 用户数据访问层
  */
@@ -26,9 +29,31 @@ public interface UserMapper extends BaseMapper<User> {
      */
     User selectByGithubId(@Param("githubId") String githubId);
 
+    /**
+     * 按GitHub ID插入或更新用户，只有已有行的GitHub ID相同时才更新。
+     * 返回值是驱动报告的行数，连接未开启useAffectedRows时未变化的行也计为1，
+     * 不能据此区分插入、更新或冲突，结果以按GitHub ID回读的行为准
+     */
+    int upsertByGithubId(User user);
+
     /**
      * 根据用户名或邮箱查找用户
      */
     User selectByUsernameOrEmail(@Param("usernameOrEmail") String usernameOrEmail);
+
+    /**
+     * 查询用户名、邮箱或GitHub ID已被占用的用户，只返回ID和这三列；excludeId为更新中的用户本身
+     */
+    List<User> selectConflicts(@Param("username") String username,
+                               @Param("email") String email,
+                               @Param("githubId") String githubId,
+                               @Param("excludeId") Long excludeId);
+
+    /**
+     * 批量查询用户名、邮箱或GitHub ID已被占用的用户，只返回ID和这三列
+     */
+    List<User> selectConflictsIn(@Param("usernames") Collection<String> usernames,
+                                 @Param("emails") Collection<String> emails,
+                                 @Param("githubIds") Collection<String> githubIds);
 }
 
@@ -0,0 +1,110 @@
+package com.blog.scoring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Aho-Corasick多模式匹配自动机
+ *
+ * 构建后只读，可被多线程共享。匹配忽略大小写，一次扫描即可找出文本中出现的全部关键词。
+ */
+public final class AhoCorasick {
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> failures = new ArrayList<>();
+    /**
+     * 以该节点结尾的关键词（包含经失败链可达的后缀关键词）
+     */
+    private final List<List<String>> outputs = new ArrayList<>();
+
+    public AhoCorasick(Collection<String> keywords) {
+        newNode();
+        for (String keyword : keywords) {
+            if (keyword == null || keyword.isBlank()) {
+                continue;
+            }
+            String normalized = keyword.trim().toLowerCase(Locale.ROOT);
+            int node = 0;
+            for (int i = 0; i < normalized.length(); i++) {
+                char c = normalized.charAt(i);
+                Integer next = transitions.get(node).get(c);
+                if (next == null) {
+                    next = newNode();
+                    transitions.get(node).put(c, next);
+                }
+                node = next;
+            }
+            if (!outputs.get(node).contains(normalized)) {
+                outputs.get(node).add(normalized);
+            }
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * 查找文本中出现的全部关键词（去重，按首次出现顺序）
+     */
+    public Set<String> findAll(String text) {
+        Set<String> matches = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) {
+            return matches;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int node = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            node = next(node, normalized.charAt(i));
+            matches.addAll(outputs.get(node));
+        }
+        return matches;
+    }
+
+    public boolean isEmpty() {
+        return transitions.size() == 1;
+    }
+
+    private int next(int node, char c) {
+        while (true) {
+            Integer target = transitions.get(node).get(c);
+            if (target != null) {
+                return target;
+            }
+            if (node == 0) {
+                return 0;
+            }
+            node = failures.get(node);
+        }
+    }
+
+    private void buildFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            failures.set(child, 0);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(node).entrySet()) {
+                int child = edge.getValue();
+                int failure = next(failures.get(node), edge.getKey());
+                failures.set(child, failure);
+                outputs.get(child).addAll(outputs.get(failure));
+                queue.add(child);
+            }
+        }
+    }
+
+    private int newNode() {
+        transitions.add(new HashMap<>());
+        failures.add(0);
+        outputs.add(new ArrayList<>());
+        return transitions.size() - 1;
+    }
+}
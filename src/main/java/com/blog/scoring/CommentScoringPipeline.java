@@ -0,0 +1,139 @@
+package com.blog.scoring;
+
+import com.blog.dto.CommentDto;
+import com.blog.enums.CommentStatus;
+import com.blog.event.CommentCreatedEvent;
+import com.blog.service.CommentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 新评论自动评分流水线
+ *
+ * 评论创建的事务提交后，评论被放入有界队列，由工作线程依次执行各评分阶段并累加分数：
+ * 达到拒绝阈值的自动拒绝，不超过通过阈值的自动通过，其余保持待审核。评分完全在后台进行，
+ * 不增加发表评论接口的耗时；队列满时跳过评分，评论保持待审核。
+ * 自动通过默认关闭（通过阈值为负数），由运营配置好关键词等规则后自行开启。
+ * 各阶段耗时记录在blog.comment.scoring.stage指标中。
+ */
+@Component
+@Slf4j
+public class CommentScoringPipeline {
+
+    private final List<CommentScoringStage> stages;
+    private final CommentService commentService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Timer> stageTimers;
+    private final Map<CommentStatus, Counter> decisions;
+    private final Counter skipped;
+    private final boolean enabled;
+    private final double approveThreshold;
+    private final double rejectThreshold;
+
+    public CommentScoringPipeline(List<CommentScoringStage> stages,
+                                  CommentService commentService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${blog.comment-scoring.enabled:true}") boolean enabled,
+                                  @Value("${blog.comment-scoring.workers:2}") int workers,
+                                  @Value("${blog.comment-scoring.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${blog.comment-scoring.approve-threshold:-1}") double approveThreshold,
+                                  @Value("${blog.comment-scoring.reject-threshold:1.0}") double rejectThreshold) {
+        this.stages = stages;
+        this.commentService = commentService;
+        this.enabled = enabled;
+        this.approveThreshold = approveThreshold;
+        this.rejectThreshold = rejectThreshold;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "comment-scoring-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.stageTimers = stages.stream().collect(Collectors.toMap(CommentScoringStage::name,
+                stage -> Timer.builder("blog.comment.scoring.stage")
+                        .description("评论评分阶段耗时")
+                        .tag("stage", stage.name())
+                        .register(meterRegistry)));
+        this.decisions = List.of(CommentStatus.values()).stream().collect(Collectors.toMap(Function.identity(),
+                status -> Counter.builder("blog.comment.scoring.decisions")
+                        .description("评论自动评分结果")
+                        .tag("status", status.name())
+                        .register(meterRegistry)));
+        this.skipped = Counter.builder("blog.comment.scoring.skipped")
+                .description("队列已满未评分的评论数")
+                .register(meterRegistry);
+        meterRegistry.gauge("blog.comment.scoring.queue.size", executor, pool -> pool.getQueue().size());
+    }
+
+    @TransactionalEventListener
+    public void onCommentCreated(CommentCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(event.comment()));
+        } catch (RejectedExecutionException e) {
+            skipped.increment();
+            log.warn("评论评分队列已满，评论保持待审核，ID: {}", event.comment().id());
+        }
+    }
+
+    /**
+     * 计算评论的垃圾分数
+     */
+    public double score(CommentDto comment) {
+        double total = 0;
+        for (CommentScoringStage stage : stages) {
+            Timer.Sample sample = Timer.start();
+            try {
+                total += stage.score(comment);
+            } catch (Exception e) {
+                log.warn("评论评分阶段执行失败，阶段: {}, 评论ID: {}", stage.name(), comment.id(), e);
+            } finally {
+                sample.stop(stageTimers.get(stage.name()));
+            }
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void process(CommentDto comment) {
+        try {
+            double score = score(comment);
+            CommentStatus decision = score >= rejectThreshold ? CommentStatus.REJECTED
+                    : score <= approveThreshold ? CommentStatus.APPROVED
+                    : CommentStatus.PENDING;
+            decisions.get(decision).increment();
+            if (decision != CommentStatus.PENDING && commentService.autoModerateComment(comment.id(), decision)) {
+                log.info("评论自动审核，ID: {}, 分数: {}, 结果: {}", comment.id(), score, decision);
+            }
+        } catch (Exception e) {
+            log.error("评论自动评分失败，ID: {}", comment.id(), e);
+        }
+    }
+}
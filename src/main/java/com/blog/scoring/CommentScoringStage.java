@@ -0,0 +1,22 @@
+package com.blog.scoring;
+
+import com.blog.dto.CommentDto;
+
+/**
+ * 评论评分阶段
+ *
+ * 每个阶段独立给出垃圾评论分数，流水线累加各阶段分数后决定自动通过、自动拒绝或留待人工审核。
+ * 阶段会被多个工作线程并发调用，实现需保证线程安全。
+ */
+public interface CommentScoringStage {
+
+    /**
+     * 阶段名称，用作指标标签
+     */
+    String name();
+
+    /**
+     * 计算垃圾评论分数，0表示未发现问题
+     */
+    double score(CommentDto comment);
+}
@@ -0,0 +1,47 @@
+package com.blog.scoring;
+
+import com.blog.cache.LocalCache;
+import com.blog.dto.CommentDto;
+import com.blog.util.HashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * 重复内容阶段：按规范化后内容的哈希记录近期评论，窗口内再次出现相同内容时判为可疑
+ */
+@Component
+@Order(20)
+public class DuplicateContentStage implements CommentScoringStage {
+
+    private final LocalCache<String, Boolean> recentHashes;
+    private final double score;
+
+    public DuplicateContentStage(@Value("${blog.comment-scoring.duplicate-window:24h}") Duration window,
+                                 @Value("${blog.comment-scoring.duplicate-max-size:100000}") int maxSize,
+                                 @Value("${blog.comment-scoring.duplicate-score:0.6}") double score) {
+        this.recentHashes = new LocalCache<>(maxSize, window);
+        this.score = score;
+    }
+
+    @Override
+    public String name() {
+        return "duplicate";
+    }
+
+    @Override
+    public double score(CommentDto comment) {
+        String normalized = comment.content().strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        String hash = HashUtils.sha256Hex(normalized);
+        synchronized (recentHashes) {
+            if (recentHashes.get(hash) != null) {
+                return score;
+            }
+            recentHashes.put(hash, Boolean.TRUE);
+        }
+        return 0;
+    }
+}
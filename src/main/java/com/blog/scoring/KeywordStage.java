@@ -0,0 +1,38 @@
+package com.blog.scoring;
+
+import com.blog.dto.CommentDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 敏感关键词阶段：用Aho-Corasick自动机一次扫描评论内容，每命中一个不同的关键词累加一次分数
+ */
+@Component
+@Order(40)
+public class KeywordStage implements CommentScoringStage {
+
+    private final AhoCorasick automaton;
+    private final double scorePerKeyword;
+
+    public KeywordStage(@Value("${blog.comment-scoring.keywords:}") List<String> keywords,
+                        @Value("${blog.comment-scoring.keyword-score:0.5}") double scorePerKeyword) {
+        this.automaton = new AhoCorasick(keywords);
+        this.scorePerKeyword = scorePerKeyword;
+    }
+
+    @Override
+    public String name() {
+        return "keyword";
+    }
+
+    @Override
+    public double score(CommentDto comment) {
+        if (automaton.isEmpty()) {
+            return 0;
+        }
+        return automaton.findAll(comment.content()).size() * scorePerKeyword;
+    }
+}
@@ -0,0 +1,56 @@
+package com.blog.scoring;
+
+import com.blog.dto.CommentDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 链接密度阶段：链接数超过上限，或链接占内容的比例过高时判为可疑
+ */
+@Component
+@Order(30)
+public class LinkDensityStage implements CommentScoringStage {
+
+    private static final Pattern LINK = Pattern.compile("(?i)\\b(?:https?://|www\\.)\\S+");
+
+    private final int maxLinks;
+    private final double maxDensity;
+    private final double scorePerLink;
+
+    public LinkDensityStage(@Value("${blog.comment-scoring.max-links:3}") int maxLinks,
+                            @Value("${blog.comment-scoring.max-link-density:0.5}") double maxDensity,
+                            @Value("${blog.comment-scoring.link-score:0.3}") double scorePerLink) {
+        this.maxLinks = maxLinks;
+        this.maxDensity = maxDensity;
+        this.scorePerLink = scorePerLink;
+    }
+
+    @Override
+    public String name() {
+        return "link-density";
+    }
+
+    @Override
+    public double score(CommentDto comment) {
+        String content = comment.content();
+        Matcher matcher = LINK.matcher(content);
+        int links = 0;
+        int linkChars = 0;
+        while (matcher.find()) {
+            links++;
+            linkChars += matcher.end() - matcher.start();
+        }
+        if (links == 0) {
+            return 0;
+        }
+        double density = (double) linkChars / content.strip().length();
+        if (links > maxLinks || density > maxDensity) {
+            return 1.0;
+        }
+        return links * scorePerLink;
+    }
+}
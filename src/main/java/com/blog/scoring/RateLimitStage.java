@@ -0,0 +1,63 @@
+package com.blog.scoring;
+
+import com.blog.cache.LocalCache;
+import com.blog.dto.CommentDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 发布频率阶段：按用户维护滑动窗口内的评论时间，窗口内评论数超过上限时判为可疑
+ */
+@Component
+@Order(10)
+public class RateLimitStage implements CommentScoringStage {
+
+    private final LocalCache<Long, Deque<Long>> windows;
+    private final long windowMillis;
+    private final int maxComments;
+    private final double score;
+
+    public RateLimitStage(@Value("${blog.comment-scoring.rate-window:10m}") Duration window,
+                          @Value("${blog.comment-scoring.rate-max-comments:5}") int maxComments,
+                          @Value("${blog.comment-scoring.rate-score:1.0}") double score) {
+        // 用户的窗口在最后一次评论后过期，所以缓存过期时间与窗口一致
+        this.windows = new LocalCache<>(100_000, window);
+        this.windowMillis = window.toMillis();
+        this.maxComments = maxComments;
+        this.score = score;
+    }
+
+    @Override
+    public String name() {
+        return "rate-limit";
+    }
+
+    @Override
+    public double score(CommentDto comment) {
+        if (comment.userId() == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        Deque<Long> timestamps;
+        synchronized (windows) {
+            timestamps = windows.get(comment.userId());
+            if (timestamps == null) {
+                timestamps = new ArrayDeque<>();
+            }
+            // 重新放入以刷新过期时间
+            windows.put(comment.userId(), timestamps);
+        }
+        synchronized (timestamps) {
+            while (!timestamps.isEmpty() && timestamps.peekFirst() <= now - windowMillis) {
+                timestamps.pollFirst();
+            }
+            timestamps.addLast(now);
+            return timestamps.size() > maxComments ? score : 0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.blog.search;
+
+import com.blog.entity.Article;
+import com.blog.enums.ArticleStatus;
+import com.blog.mapper.ArticleMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 已发布文章的全文索引
+ *
+ * 应用启动后在后台分批加载全部已发布文章建立索引，之后随文章的发布、更新、下线和删除增量维护。
+ * 索引建立完成前 {@link #isReady()} 返回false，调用方应回退到数据库查询。
+ * 重建期间的增量变更先作用于旧索引并记录下来，新索引换上后按记录重放一遍，
+ * 避免在变更之前读出的批次把已删除或已修改的文章旧版本写回新索引。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleSearchIndex {
+
+    /**
+     * 重建索引时每批加载的文章数
+     */
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    private final ArticleMapper articleMapper;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    /**
+     * 重建期间变更过的文章，值为最新的已发布文章，移除时为null；未在重建时为null。由this保护
+     */
+    private Map<Long, Article> pendingChanges;
+    private volatile boolean ready;
+
+    /**
+     * 重建索引
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            InvertedIndex rebuilt = new InvertedIndex();
+            synchronized (this) {
+                pendingChanges = new HashMap<>();
+            }
+            Long afterId = 0L;
+            while (true) {
+                List<Article> batch = articleMapper.selectPublishedForIndex(afterId, REBUILD_BATCH_SIZE);
+                batch.forEach(article -> addTo(rebuilt, article));
+                if (batch.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            int replayed;
+            synchronized (this) {
+                replayed = pendingChanges.size();
+                pendingChanges.forEach((articleId, article) -> {
+                    if (article != null) {
+                        addTo(rebuilt, article);
+                    } else {
+                        rebuilt.remove(articleId);
+                    }
+                });
+                index = rebuilt;
+                pendingChanges = null;
+            }
+            ready = true;
+            log.info("文章全文索引建立完成，文章数: {}, 重放变更: {}, 耗时: {}ms",
+                    rebuilt.size(), replayed, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("文章全文索引建立失败，搜索将回退到数据库查询", e);
+            synchronized (this) {
+                pendingChanges = null;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 按文章当前状态更新索引：已发布的文章写入索引，其余状态从索引中移除
+     */
+    public void update(Article article) {
+        if (article.getStatus() != ArticleStatus.PUBLISHED) {
+            remove(article.getId());
+            return;
+        }
+        synchronized (this) {
+            addTo(index, article);
+            if (pendingChanges != null) {
+                pendingChanges.put(article.getId(), article);
+            }
+        }
+    }
+
+    /**
+     * 从索引中移除文章
+     */
+    public synchronized void remove(Long articleId) {
+        index.remove(articleId);
+        if (pendingChanges != null) {
+            pendingChanges.put(articleId, null);
+        }
+    }
+
+    /**
+     * 检索文章
+     */
+    public SearchHits search(String keyword, long offset, int limit) {
+        return index.search(keyword, offset, limit);
+    }
+
+    private static void addTo(InvertedIndex target, Article article) {
+        target.add(article.getId(), article.getTitle(), article.getSummary(), article.getContent());
+    }
+}
@@ -0,0 +1,265 @@
+package com.blog.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 文章倒排索引
+ *
+ * 每个词项的倒排表以两个平行的int数组保存内部文档号和词频，文章ID与内部文档号一一对应，
+ * 删除的文档号会被复用。检索要求文档包含查询的全部词项，并按BM25打分排序。
+ * 由字母数字组成的查询词按前缀匹配，例如java也能命中javascript；词典有序保存，前缀展开只需一次范围查找。
+ * 读写通过读写锁隔离，可被多个线程并发检索。
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * 标题中的词项按该倍数计入词频
+     */
+    private static final int TITLE_BOOST = 3;
+
+    /**
+     * 一个查询词最多展开的词项数，避免过短的前缀扫描整个词典
+     */
+    private static final int MAX_PREFIX_EXPANSIONS = 128;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> docByArticle = new HashMap<>();
+    private final Deque<Integer> freeDocs = new ArrayDeque<>();
+
+    private long[] articleIds = new long[64];
+    private int[] docLengths = new int[64];
+    private String[][] docTerms = new String[64][];
+    private int docCount;
+    private long totalLength;
+
+    /**
+     * 添加或替换文章
+     */
+    public void add(long articleId, String title, String... bodies) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : Tokenizer.tokenize(title)) {
+            frequencies.merge(token, TITLE_BOOST, Integer::sum);
+            length += TITLE_BOOST;
+        }
+        for (String body : bodies) {
+            for (String token : Tokenizer.tokenize(body)) {
+                frequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(articleId);
+            if (frequencies.isEmpty()) {
+                return;
+            }
+            int doc = freeDocs.isEmpty() ? docCount++ : freeDocs.pop();
+            ensureCapacity(doc + 1);
+            articleIds[doc] = articleId;
+            docLengths[doc] = length;
+            docTerms[doc] = frequencies.keySet().toArray(new String[0]);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new Postings()).add(doc, frequency));
+            docByArticle.put(articleId, doc);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除文章
+     */
+    public void remove(long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 已索引的文章数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docByArticle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 检索包含全部查询词项的文章
+     */
+    public SearchHits search(String query, long offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenizeQuery(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchHits.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docByArticle.size();
+            if (liveDocs == 0) {
+                return SearchHits.empty();
+            }
+
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = Tokenizer.isWord(term) ? prefixPostings(term) : postings.get(term);
+                if (list == null) {
+                    return SearchHits.empty();
+                }
+                lists.add(list);
+            }
+
+            double averageLength = (double) totalLength / liveDocs;
+            double[] scores = new double[docCount];
+            int[] matched = new int[docCount];
+            for (Postings list : lists) {
+                double idf = Math.log(1 + (liveDocs - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    int frequency = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                    scores[doc] += idf * frequency * (K1 + 1) / (frequency + norm);
+                    matched[doc]++;
+                }
+            }
+
+            // 以最短的倒排表作为候选集，只保留包含全部词项的文档
+            Postings shortest = lists.stream().min(Comparator.comparingInt(list -> list.size)).orElseThrow();
+            int[] candidates = new int[shortest.size];
+            int count = 0;
+            for (int i = 0; i < shortest.size; i++) {
+                int doc = shortest.docs[i];
+                if (matched[doc] == lists.size()) {
+                    candidates[count++] = doc;
+                }
+            }
+
+            Integer[] ranked = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                ranked[i] = candidates[i];
+            }
+            Arrays.sort(ranked, (left, right) -> {
+                int byScore = Double.compare(scores[right], scores[left]);
+                return byScore != 0 ? byScore : Long.compare(articleIds[right], articleIds[left]);
+            });
+
+            List<Long> page = new ArrayList<>(Math.min(limit, count));
+            for (long i = offset; i < count && page.size() < limit; i++) {
+                page.add(articleIds[ranked[(int) i]]);
+            }
+            return new SearchHits(count, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 合并以该词为前缀的全部词项的倒排表，同一文档的词频相加；只有一个词项时直接返回其倒排表
+     */
+    private Postings prefixPostings(String prefix) {
+        NavigableMap<String, Postings> expansions = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (expansions.size() <= 1) {
+            return expansions.isEmpty() ? null : expansions.firstEntry().getValue();
+        }
+        int[] frequencies = new int[docCount];
+        int expanded = 0;
+        for (Postings list : expansions.values()) {
+            if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            for (int i = 0; i < list.size; i++) {
+                frequencies[list.docs[i]] += list.frequencies[i];
+            }
+        }
+        Postings merged = new Postings();
+        for (int doc = 0; doc < frequencies.length; doc++) {
+            if (frequencies[doc] > 0) {
+                merged.add(doc, frequencies[doc]);
+            }
+        }
+        return merged;
+    }
+
+    private void removeInternal(long articleId) {
+        Integer doc = docByArticle.remove(articleId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : docTerms[doc]) {
+            Postings list = postings.get(term);
+            if (list != null && list.remove(doc) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= docLengths[doc];
+        docTerms[doc] = null;
+        docLengths[doc] = 0;
+        freeDocs.push(doc);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= articleIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, articleIds.length * 2);
+        articleIds = Arrays.copyOf(articleIds, newCapacity);
+        docLengths = Arrays.copyOf(docLengths, newCapacity);
+        docTerms = Arrays.copyOf(docTerms, newCapacity);
+    }
+
+    /**
+     * 单个词项的倒排表，文档号无序
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        boolean remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    frequencies[i] = frequencies[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.blog.search;
+
+import java.util.List;
+
+/**
+ * 全文检索结果
+ *
+ * @param total      命中的文章总数
+ * @param articleIds 当前页的文章ID，按相关度降序
+ */
+public record SearchHits(long total, List<Long> articleIds) {
+
+    public static SearchHits empty() {
+        return new SearchHits(0, List.of());
+    }
+}
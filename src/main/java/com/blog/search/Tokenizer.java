@@ -0,0 +1,101 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 全文检索分词器
+ *
+ * 字母和数字组成的连续片段作为一个词（转为小写）；其余字符视为分隔符。
+ * 中日韩文字建索引时同时产生每个字的一元词和相邻两字的二元词；查询时连续两字以上只用二元词，
+ * 单独一个字用一元词，因此单字查询也能命中包含该字的词语。
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    /**
+     * 对建索引的文本分词，返回的词项保持原文顺序并允许重复
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 对查询分词，连续的中日韩文字不再产生一元词
+     */
+    public static List<String> tokenizeQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    /**
+     * 判断词项是否由字母或数字组成，这类词项查询时按前缀匹配
+     */
+    static boolean isWord(String term) {
+        return !term.isEmpty() && !isCjk(term.codePointAt(0));
+    }
+
+    private static List<String> tokenize(String text, boolean unigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjkRun = new ArrayList<>();
+        int length = text.length();
+        for (int i = 0; i < length; ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjkRun.add(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjkRun, tokens, unigrams);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjkRun, tokens, unigrams);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjkRun, tokens, unigrams);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString().toLowerCase(Locale.ROOT));
+            word.setLength(0);
+        }
+    }
+
+    private static void flushCjk(List<Integer> run, List<String> tokens, boolean unigrams) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (unigrams || run.size() == 1) {
+            run.forEach(codePoint -> tokens.add(new String(Character.toChars(codePoint))));
+        }
+        if (run.size() > 1) {
+            for (int i = 0; i + 1 < run.size(); i++) {
+                tokens.add(new StringBuilder(4)
+                        .appendCodePoint(run.get(i))
+                        .appendCodePoint(run.get(i + 1))
+                        .toString());
+            }
+        }
+        run.clear();
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
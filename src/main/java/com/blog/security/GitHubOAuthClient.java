@@ -0,0 +1,164 @@
+package com.blog.security;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * GitHub OAuth客户端
+ *
+ * 生成带state参数的授权地址，用授权码换取访问令牌，再读取GitHub用户资料。
+ * 授权和API地址可配置，便于指向本地桩服务。
+ */
+@Component
+@Slf4j
+public class GitHubOAuthClient {
+
+    private final RestClient oauthClient;
+    private final RestClient apiClient;
+    private final String clientId;
+    private final String clientSecret;
+    private final String oauthBaseUrl;
+    private final String redirectUri;
+
+    public GitHubOAuthClient(RestClient.Builder restClientBuilder,
+                             @Value("${github.client-id:}") String clientId,
+                             @Value("${github.client-secret:}") String clientSecret,
+                             @Value("${github.redirect-uri:}") String redirectUri,
+                             @Value("${github.oauth-base-url:https://github.com}") String oauthBaseUrl,
+                             @Value("${github.api-base-url:https://api.github.com}") String apiBaseUrl,
+                             @Value("${github.timeout:5s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) timeout.toMillis());
+        requestFactory.setReadTimeout((int) timeout.toMillis());
+        this.oauthClient = restClientBuilder.clone()
+                .baseUrl(oauthBaseUrl)
+                .requestFactory(requestFactory)
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        this.apiClient = restClientBuilder.clone()
+                .baseUrl(apiBaseUrl)
+                .requestFactory(requestFactory)
+                .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.github+json")
+                .build();
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.oauthBaseUrl = oauthBaseUrl;
+        this.redirectUri = redirectUri;
+    }
+
+    /**
+     * 生成GitHub授权页地址，state原样带回回调，用于确认回调由本次登录发起
+     */
+    public String authorizeUrl(String state) {
+        if (clientId.isBlank()) {
+            throw new IllegalStateException("未配置GitHub OAuth客户端");
+        }
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(oauthBaseUrl)
+                .path("/login/oauth/authorize")
+                .queryParam("client_id", clientId)
+                .queryParam("scope", "read:user user:email")
+                .queryParam("state", state);
+        if (!redirectUri.isBlank()) {
+            builder.queryParam("redirect_uri", redirectUri);
+        }
+        return builder.encode().toUriString();
+    }
+
+    /**
+     * 用授权码换取GitHub用户资料，授权码无效时抛出IllegalArgumentException
+     */
+    public GitHubUser fetchUser(String code) {
+        if (clientId.isBlank() || clientSecret.isBlank()) {
+            throw new IllegalStateException("未配置GitHub OAuth客户端");
+        }
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("授权码不能为空");
+        }
+        String accessToken = exchangeCode(code);
+
+        UserResponse user = apiClient.get()
+                .uri("/user")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .retrieve()
+                .body(UserResponse.class);
+        if (user == null || user.id() == null || user.login() == null) {
+            throw new IllegalStateException("GitHub用户资料不完整");
+        }
+        String email = user.email() != null ? user.email() : fetchPrimaryEmail(accessToken);
+        if (email == null) {
+            // 用户隐藏了邮箱且未授权读取时使用GitHub提供的免回复地址
+            email = user.id() + "+" + user.login() + "@users.noreply.github.com";
+        }
+        return new GitHubUser(String.valueOf(user.id()), user.login(), email, user.avatarUrl());
+    }
+
+    private String exchangeCode(String code) {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("client_id", clientId);
+        form.add("client_secret", clientSecret);
+        form.add("code", code);
+        TokenResponse token = oauthClient.post()
+                .uri("/login/oauth/access_token")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(form)
+                .retrieve()
+                .body(TokenResponse.class);
+        // 授权码错误时GitHub仍返回200，错误信息在响应体中
+        if (token == null || token.accessToken() == null) {
+            String reason = token != null && token.errorDescription() != null ? token.errorDescription() : "未返回访问令牌";
+            throw new IllegalArgumentException("GitHub授权失败: " + reason);
+        }
+        return token.accessToken();
+    }
+
+    private String fetchPrimaryEmail(String accessToken) {
+        try {
+            List<EmailResponse> emails = apiClient.get()
+                    .uri("/user/emails")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<>() {});
+            if (emails == null) {
+                return null;
+            }
+            return emails.stream()
+                    .filter(email -> email.primary() && email.verified())
+                    .map(EmailResponse::email)
+                    .findFirst()
+                    .orElse(null);
+        } catch (Exception e) {
+            log.debug("读取GitHub邮箱失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * GitHub用户资料
+     */
+    public record GitHubUser(String githubId, String login, String email, String avatarUrl) {
+    }
+
+    private record TokenResponse(@JsonProperty("access_token") String accessToken,
+                                 @JsonProperty("error_description") String errorDescription) {
+    }
+
+    private record UserResponse(Long id, String login, String email,
+                                @JsonProperty("avatar_url") String avatarUrl) {
+    }
+
+    private record EmailResponse(String email, boolean primary, boolean verified) {
+    }
+}
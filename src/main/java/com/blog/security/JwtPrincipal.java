@@ -0,0 +1,15 @@
+package com.blog.security;
+
+import com.blog.enums.UserRole;
+
+/**
+ * 已认证用户，直接由令牌声明构造，不查询用户表
+ *
+ * @param id        用户ID（sub）
+ * @param username  用户名
+ * @param role      用户角色
+ * @param tokenId   令牌ID（jti），用于吊销
+ * @param expiresAt 令牌过期时间（毫秒时间戳）
+ */
+public record JwtPrincipal(Long id, String username, UserRole role, String tokenId, long expiresAt) {
+}
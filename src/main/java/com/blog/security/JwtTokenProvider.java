@@ -0,0 +1,152 @@
+package com.blog.security;
+
+import com.blog.cache.LocalCache;
+import com.blog.enums.UserRole;
+import com.blog.util.HashUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * JWT令牌签发与校验
+ *
+ * 签发使用jjwt，固定HS256算法。校验走快速路径：每个线程复用一个已初始化密钥的Mac计算签名，
+ * 只解析需要的声明；校验通过的令牌按令牌的SHA-256缓存到过期时间为止，同一令牌的后续请求只需一次哈希和缓存查找，
+ * 内存中不保留可直接使用的令牌原文。
+ * 吊销检查不进缓存，每次请求都会经过本地布隆过滤器。
+ */
+@Component
+@Slf4j
+public class JwtTokenProvider {
+
+    private static final String ALGORITHM = "HS256";
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKey key;
+    private final long expirationMillis;
+    private final ObjectMapper objectMapper;
+    private final ThreadLocal<Mac> macs;
+    private final LocalCache<String, JwtPrincipal> verified;
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtTokenProvider(ObjectMapper objectMapper,
+                            TokenRevocationService tokenRevocationService,
+                            MeterRegistry meterRegistry,
+                            @Value("${jwt.secret}") String secret,
+                            @Value("${jwt.expiration:86400000}") long expirationMillis,
+                            @Value("${jwt.claims-cache-size:10000}") int claimsCacheSize) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("jwt.secret长度不能少于" + MIN_SECRET_BYTES + "字节");
+        }
+        this.key = new SecretKeySpec(secretBytes, MAC_ALGORITHM);
+        this.expirationMillis = expirationMillis;
+        this.objectMapper = objectMapper;
+        this.tokenRevocationService = tokenRevocationService;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.verified = new LocalCache<>(claimsCacheSize, Duration.ofMillis(expirationMillis));
+        verified.bindTo(meterRegistry, "jwt.claims", "local");
+    }
+
+    /**
+     * 签发访问令牌
+     */
+    public String generateToken(Long userId, String username, UserRole role) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(String.valueOf(userId))
+                .claim("username", username)
+                .claim("role", role.name())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expirationMillis))
+                .signWith(key, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    /**
+     * 校验令牌并返回其中的用户信息，签名错误、已过期、已吊销或格式不正确时返回null
+     */
+    public JwtPrincipal authenticate(String token) {
+        String cacheKey = HashUtils.sha256Hex(token);
+        JwtPrincipal principal = verified.get(cacheKey);
+        if (principal == null) {
+            principal = verify(token);
+            if (principal == null) {
+                return null;
+            }
+            verified.put(cacheKey, principal, principal.expiresAt());
+        }
+        return tokenRevocationService.isRevoked(principal) ? null : principal;
+    }
+
+    /**
+     * 新签发令牌的有效期（秒）
+     */
+    public long getExpirationSeconds() {
+        return expirationMillis / 1000;
+    }
+
+    private JwtPrincipal verify(String token) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = token.lastIndexOf('.');
+        if (headerEnd <= 0 || payloadEnd <= headerEnd || payloadEnd == token.length() - 1) {
+            return null;
+        }
+        try {
+            Mac mac = macs.get();
+            mac.update(token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII));
+            byte[] expected = mac.doFinal();
+            byte[] actual = DECODER.decode(token.substring(payloadEnd + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+
+            JsonNode header = objectMapper.readTree(DECODER.decode(token.substring(0, headerEnd)));
+            if (!ALGORITHM.equals(header.path("alg").asText())) {
+                return null;
+            }
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(headerEnd + 1, payloadEnd)));
+            long expiresAt = claims.path("exp").asLong() * 1000;
+            if (expiresAt <= System.currentTimeMillis()) {
+                return null;
+            }
+            return new JwtPrincipal(
+                    Long.valueOf(claims.path("sub").asText()),
+                    claims.path("username").asText(null),
+                    UserRole.valueOf(claims.path("role").asText()),
+                    claims.path("jti").asText(null),
+                    expiresAt);
+        } catch (Exception e) {
+            log.debug("令牌解析失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化令牌签名算法失败", e);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.blog.security;
+
+import com.blog.cache.LocalCache;
+import com.blog.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 令牌吊销服务
+ *
+ * 已吊销令牌的jti以剩余有效期为TTL写入Redis，并通过发布订阅同步到各实例的本地布隆过滤器。
+ * 校验请求时先查本地过滤器，只有命中的令牌才查询Redis确认，绝大多数请求不产生网络往返。
+ * 过滤器分两代轮换，每代覆盖一个令牌最长有效期，更早的条目对应的令牌都已过期，随旧一代整体丢弃。
+ *
+ * 本实例吊销和收到通知的令牌另外精确记录在本地，保留到令牌过期，不设条目上限，过期条目在定时同步时清理；
+ * 这样关闭Redis（blog.cache.redis-enabled=false）时不会因为淘汰而重新接受已吊销的令牌。
+ * 关闭Redis时吊销只在本实例生效；Redis暂时不可用时以本地记录为准，过滤器误判的令牌不会被拒绝。
+ */
+@Component
+@Slf4j
+public class TokenRevocationService {
+
+    private static final String KEY_PREFIX = "blog:auth:revoked:";
+    private static final String CHANNEL = "blog:auth:revocations";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final long generationMillis;
+    private final LocalCache<String, Boolean> verdicts;
+    /**
+     * 本地已知的吊销令牌jti到令牌过期时间（毫秒时间戳），条目数受一个令牌有效期内的吊销次数限制
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile long rotatedAt;
+
+    public TokenRevocationService(ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainerProvider,
+                                  @Value("${blog.cache.redis-enabled:true}") boolean redisEnabled,
+                                  @Value("${jwt.expiration:86400000}") long tokenLifetimeMillis,
+                                  @Value("${blog.token-revocation.expected-revocations:100000}") int expectedRevocations,
+                                  @Value("${blog.token-revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${blog.token-revocation.verdict-ttl:60s}") Duration verdictTtl) {
+        this.redisTemplate = redisEnabled ? redisTemplateProvider.getIfAvailable() : null;
+        this.listenerContainer = redisEnabled ? listenerContainerProvider.getIfAvailable() : null;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.generationMillis = tokenLifetimeMillis;
+        this.verdicts = new LocalCache<>(10_000, verdictTtl);
+        this.current = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.previous = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.rotatedAt = System.currentTimeMillis();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (listenerContainer == null) {
+            log.info("未启用Redis，令牌吊销只在本实例生效");
+            return;
+        }
+        listenerContainer.addMessageListener((message, pattern) ->
+                        onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 应用启动后在后台加载仍在有效期内的吊销记录
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        resync();
+    }
+
+    /**
+     * 吊销令牌，令牌已过期时无需记录
+     */
+    public void revoke(JwtPrincipal principal) {
+        if (principal.tokenId() == null) {
+            return;
+        }
+        long remaining = principal.expiresAt() - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return;
+        }
+        remember(principal.tokenId(), principal.expiresAt());
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + principal.tokenId(), "1", Duration.ofMillis(remaining));
+            redisTemplate.convertAndSend(CHANNEL, principal.tokenId() + ":" + principal.expiresAt());
+        } catch (Exception e) {
+            log.warn("写入令牌吊销记录失败，吊销暂时只在本实例生效，jti: {}", principal.tokenId(), e);
+        }
+    }
+
+    /**
+     * 判断令牌是否已被吊销，未启用Redis或Redis不可用时以本地记录为准
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        String tokenId = principal.tokenId();
+        if (tokenId == null || !(current.mightContain(tokenId) || previous.mightContain(tokenId))) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            return true;
+        }
+        if (redisTemplate == null) {
+            return false;
+        }
+        Boolean verdict = verdicts.get(tokenId);
+        if (verdict != null) {
+            return verdict;
+        }
+        try {
+            boolean result = Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+            verdicts.put(tokenId, result);
+            return result;
+        } catch (Exception e) {
+            log.warn("查询令牌吊销状态失败，按本地记录处理，jti: {}", tokenId, e);
+            return false;
+        }
+    }
+
+    /**
+     * 定时轮换过滤器并清理已过期的本地记录，再从Redis重新加载吊销记录，补上发布订阅断线期间漏掉的消息
+     */
+    @Scheduled(initialDelayString = "${blog.token-revocation.resync-interval:300000}",
+            fixedDelayString = "${blog.token-revocation.resync-interval:300000}")
+    public void resync() {
+        long now = System.currentTimeMillis();
+        if (now - rotatedAt >= generationMillis) {
+            previous = current;
+            current = new BloomFilter(expectedRevocations, falsePositiveRate);
+            rotatedAt = now;
+        }
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        if (redisTemplate == null) {
+            return;
+        }
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        int loaded = 0;
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                current.put(keys.next().substring(KEY_PREFIX.length()));
+                loaded++;
+            }
+            log.debug("令牌吊销记录同步完成，条目数: {}", loaded);
+        } catch (Exception e) {
+            log.error("同步令牌吊销记录失败", e);
+        }
+    }
+
+    /**
+     * 处理其他实例的吊销通知，消息格式为 jti:过期时间（毫秒时间戳）
+     */
+    private void onMessage(String message) {
+        int separator = message.lastIndexOf(':');
+        try {
+            remember(message.substring(0, separator), Long.parseLong(message.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("忽略格式错误的令牌吊销通知: {}", message);
+        }
+    }
+
+    private void remember(String tokenId, long expiresAt) {
+        current.put(tokenId);
+        revoked.merge(tokenId, expiresAt, Math::max);
+    }
+}
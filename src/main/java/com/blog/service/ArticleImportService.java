@@ -0,0 +1,17 @@
+package com.blog.service;
+
+import com.blog.dto.ArticleImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 文章批量导入服务接口
+ */
+public interface ArticleImportService {
+
+    /**
+     * 从NDJSON输入流导入文章，每行一个创建文章请求
+     */
+    ArticleImportResult importArticles(InputStream input) throws IOException;
+}
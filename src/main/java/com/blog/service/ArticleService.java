@@ -3,8 +3,12 @@ package com.blog.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.dto.ArticleDto;
+import com.blog.dto.ArticleSummaryDto;
 import com.blog.dto.CreateArticleRequest;
+import com.blog.dto.CursorPage;
 import com.blog.entity.Article;
+import com.blog.enums.ArticleStatus;
+import com.blog.enums.RankingWindow;
 
 import java.util.List;
 
@@ -19,7 +23,12 @@ public interface ArticleService {
     /**
      * 获取文章列表
      */
-    IPage<ArticleDto> getArticles(int page, int size, String sortBy, String sortDir);
+    IPage<ArticleSummaryDto> getArticles(int page, int size, String sortBy, String sortDir);
+    
+    /**
+     * 按游标获取已发布文章列表，可按分类或标签过滤
+     */
+    CursorPage<ArticleSummaryDto> getArticlesByCursor(String cursor, int size, Long categoryId, Long tagId, boolean withTotal);
     
     /**
      * 根据ID获取文章详情
@@ -31,28 +40,50 @@ public interface ArticleService {
      */
     ArticleDto createArticle(CreateArticleRequest request);
     
+    /**
+     * 更新文章
+     */
+    ArticleDto updateArticle(Long id, CreateArticleRequest request);
+    
+    /**
+     * 更新文章状态
+     */
+    ArticleDto updateArticleStatus(Long id, ArticleStatus status);
+    
+    /**
+     * 删除文章
+     */
+    void deleteArticle(Long id);
+    
     /**
      * 根据分类获取文章
      */
-    IPage<ArticleDto> getArticlesByCategory(Long categoryId, int page, int size);
+    IPage<ArticleSummaryDto> getArticlesByCategory(Long categoryId, int page, int size);
     
     /**
      * 根据标签获取文章
      */
-    IPage<ArticleDto> getArticlesByTag(Long tagId, int page, int size);
+    IPage<ArticleSummaryDto> getArticlesByTag(Long tagId, int page, int size);
     
     /**
      * 搜索文章
      */
-    IPage<ArticleDto> searchArticles(String keyword, int page, int size);
+    IPage<ArticleSummaryDto> searchArticles(String keyword, int page, int size);
+    
+    /**
+     * 获取指定时间窗口内的热门文章
+     */
+    List<ArticleSummaryDto> getPopularArticles(int limit, RankingWindow window);
     
     /**
-     * 获取热门文章
+     * 批量填充文章列表的分类和标签
      */
-    List<ArticleDto> getPopularArticles(int limit);
+    List<ArticleSummaryDto> loadRelations(List<ArticleSummaryDto> articles);
     
     /**
-     * 增加文章访问量
+     * 记录文章访问，异步计入访问量
+     *
+     * @param visitor 访客标识，用于去重，可为空
      */
-    void incrementViewCount(Long id);
+    void trackView(Long id, String visitor);
 }
@@ -3,10 +3,19 @@ package com.blog.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.dto.CommentDto;
+import com.blog.dto.CommentModerationRequest;
+import com.blog.dto.CommentModerationResult;
+import com.blog.dto.CommentThreadDto;
 import com.blog.dto.CreateCommentRequest;
+import com.blog.dto.CursorPage;
 import com.blog.entity.Comment;
 import com.blog.enums.CommentStatus;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * 评论服务接口
  */
@@ -22,6 +31,14 @@ public interface CommentService {
      */
     IPage<CommentDto> getApprovedCommentsByArticleId(Long articleId, Page<Comment> page);
 
+    /**
+     * 按游标获取文章的已批准评论
+     *
+     * @param cursor 向前翻页的游标，返回更早的评论（从新到旧），与after均为空时返回最新一页
+     * @param after  轮询游标，返回之后新增的评论（从旧到新）
+     */
+    CursorPage<CommentDto> getApprovedCommentsByCursor(Long articleId, String cursor, String after, int size);
+
     /**
      * 根据文章ID获取所有评论（管理员用）
      */
@@ -37,6 +54,21 @@ public interface CommentService {
      */
     IPage<CommentDto> getCommentsByUserId(Long userId, Page<Comment> page);
 
+    /**
+     * 获取以指定评论为根的楼层，一次加载整棵回复树
+     */
+    CommentThreadDto getCommentThread(Long id);
+
+    /**
+     * 按游标获取用户的评论（从新到旧）
+     */
+    CursorPage<CommentDto> getCommentsByUserIdAndCursor(Long userId, String cursor, int size);
+
+    /**
+     * 以NDJSON格式把用户的全部评论写入输出流，逐行读取，内存占用与评论数无关
+     */
+    void exportCommentsByUserId(Long userId, OutputStream output) throws IOException;
+
     /**
      * 创建评论
      */
@@ -48,7 +80,17 @@ public interface CommentService {
     CommentDto updateCommentStatus(Long id, CommentStatus status);
 
     /**
-     * 删除评论
+     * 自动审核评论，仅当评论仍为待审核状态时修改，返回是否修改
+     */
+    boolean autoModerateComment(Long id, CommentStatus status);
+
+    /**
+     * 批量审核评论，按块更新并返回每条评论的处理结果
+     */
+    CommentModerationResult moderateComments(CommentModerationRequest request);
+
+    /**
+     * 删除评论及其全部回复
      */
     void deleteComment(Long id);
 
@@ -57,9 +99,19 @@ public interface CommentService {
      */
     long countCommentsByArticleId(Long articleId);
 
+    /**
+     * 批量获取文章的已批准评论数（文章ID -> 评论数），不存在的文章不返回
+     */
+    Map<Long, Long> countApprovedByArticleIds(Collection<Long> articleIds);
+
     /**
      * 统计待审核的评论数量
      */
     long countPendingComments();
+
+    /**
+     * 统计各状态的评论数量
+     */
+    Map<CommentStatus, Long> countCommentsByStatus();
 }
 
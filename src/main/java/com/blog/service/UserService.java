@@ -3,8 +3,10 @@ package com.blog.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.blog.dto.UserDto;
+import com.blog.dto.UserProvisionResult;
 import com.blog.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -71,5 +73,10 @@ public interface UserService {
      * 通过GitHub OAuth创建或更新用户
      */
     UserDto createOrUpdateUserByGithubId(String githubId, String username, String email, String avatar);
+
+    /**
+     * 批量创建用户，用户名、邮箱或GitHub ID冲突的用户跳过并在结果中说明原因
+     */
+    UserProvisionResult provisionUsers(List<UserDto> users);
 }
 
@@ -0,0 +1,220 @@
+package com.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.blog.dto.ArticleImportResult;
+import com.blog.dto.CreateArticleRequest;
+import com.blog.entity.Article;
+import com.blog.entity.ArticleTag;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.enums.ArticleStatus;
+import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.ArticleTagMapper;
+import com.blog.mapper.CategoryMapper;
+import com.blog.mapper.TagMapper;
+import com.blog.service.ArticleImportService;
+import com.blog.service.support.ArticleIdRegistry;
+import com.blog.service.support.MarkdownRenderer;
+import com.blog.service.support.MybatisBatchExecutor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 文章批量导入服务实现类
+ *
+ * 逐行读取输入，校验通过的记录按块写入，每块在独立事务中以JDBC批处理插入文章及标签关联。
+ * 某块写入失败时逐条重试以定位失败记录，其余记录照常导入。本类不使用类级事务。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleImportServiceImpl implements ArticleImportService {
+
+    /**
+     * 每个事务写入的文章数
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * 结果中最多返回的失败明细数
+     */
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final CategoryMapper categoryMapper;
+    private final TagMapper tagMapper;
+    private final MybatisBatchExecutor batchExecutor;
+    private final MarkdownRenderer markdownRenderer;
+    private final ArticleIdRegistry articleIdRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Override
+    public ArticleImportResult importArticles(InputStream input) throws IOException {
+        Set<Long> categoryIds = categoryMapper.selectList(
+                new LambdaQueryWrapper<Category>().select(Category::getId)).stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        Set<Long> tagIds = tagMapper.selectList(
+                new LambdaQueryWrapper<Tag>().select(Tag::getId)).stream()
+                .map(Tag::getId)
+                .collect(Collectors.toSet());
+
+        ImportReport report = new ImportReport();
+        List<PendingArticle> chunk = new ArrayList<>(CHUNK_SIZE);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.total++;
+
+            CreateArticleRequest request;
+            try {
+                request = objectMapper.readValue(line, CreateArticleRequest.class);
+            } catch (JsonProcessingException e) {
+                report.fail(lineNumber, "JSON格式错误: " + e.getOriginalMessage());
+                continue;
+            }
+            String error = validate(request, categoryIds, tagIds);
+            if (error != null) {
+                report.fail(lineNumber, error);
+                continue;
+            }
+
+            chunk.add(new PendingArticle(lineNumber, convertToEntity(request),
+                    request.tagIds() != null ? request.tagIds() : Set.of()));
+            if (chunk.size() >= CHUNK_SIZE) {
+                writeChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, report);
+        }
+
+        log.info("文章批量导入完成，总数: {}, 成功: {}, 失败: {}", report.total, report.succeeded, report.failed);
+        return new ArticleImportResult(report.total, report.succeeded, report.failed, report.failures);
+    }
+
+    /**
+     * 在一个事务中写入一块文章，失败时逐条重试
+     */
+    private void writeChunk(List<PendingArticle> chunk, ImportReport report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertAll(chunk));
+            chunk.forEach(pending -> articleIdRegistry.register(pending.article().getId()));
+            report.succeeded += chunk.size();
+            return;
+        } catch (Exception e) {
+            log.warn("批量写入文章失败，逐条重试，记录数: {}", chunk.size(), e);
+        }
+
+        for (PendingArticle pending : chunk) {
+            pending.article().setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertAll(List.of(pending)));
+                articleIdRegistry.register(pending.article().getId());
+                report.succeeded++;
+            } catch (Exception e) {
+                report.fail(pending.line(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+    }
+
+    private void insertAll(List<PendingArticle> articles) {
+        batchExecutor.execute(ArticleMapper.class,
+                mapper -> articles.forEach(pending -> mapper.insert(pending.article())));
+
+        List<ArticleTag> relations = new ArrayList<>();
+        for (PendingArticle pending : articles) {
+            for (Long tagId : pending.tagIds()) {
+                ArticleTag relation = new ArticleTag();
+                relation.setArticleId(pending.article().getId());
+                relation.setTagId(tagId);
+                relations.add(relation);
+            }
+        }
+        if (!relations.isEmpty()) {
+            batchExecutor.execute(ArticleTagMapper.class, mapper -> relations.forEach(mapper::insert));
+        }
+    }
+
+    /**
+     * 校验请求，返回错误信息，校验通过时返回null
+     */
+    private String validate(CreateArticleRequest request, Set<Long> categoryIds, Set<Long> tagIds) {
+        Set<ConstraintViolation<CreateArticleRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (request.categoryId() != null && !categoryIds.contains(request.categoryId())) {
+            return "分类不存在: " + request.categoryId();
+        }
+        if (request.tagIds() != null) {
+            Set<Long> missing = new HashSet<>(request.tagIds());
+            missing.removeAll(tagIds);
+            if (!missing.isEmpty()) {
+                return "标签不存在: " + missing;
+            }
+        }
+        return null;
+    }
+
+    private Article convertToEntity(CreateArticleRequest request) {
+        Article article = new Article();
+        article.setTitle(request.title());
+        article.setContent(request.content());
+        article.setSummary(request.summary());
+        article.setAuthor(request.author());
+        article.setCoverImage(request.coverImage());
+        article.setCategoryId(request.categoryId());
+        article.setStatus(ArticleStatus.DRAFT);
+        markdownRenderer.renderInto(article);
+        return article;
+    }
+
+    private record PendingArticle(long line, Article article, Set<Long> tagIds) {}
+
+    /**
+     * 导入统计，失败明细只保留前若干条以保证内存占用稳定
+     */
+    private static final class ImportReport {
+
+        private long total;
+        private long succeeded;
+        private long failed;
+        private final List<ArticleImportResult.Failure> failures = new ArrayList<>();
+
+        void fail(long line, String reason) {
+            failed++;
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new ArticleImportResult.Failure(line, reason));
+            }
+        }
+    }
+}
@@ -2,23 +2,45 @@ package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.cache.ArticleCache;
 import com.blog.dto.ArticleDto;
+import com.blog.dto.ArticleSummaryDto;
 import com.blog.dto.CreateArticleRequest;
+import com.blog.dto.CursorPage;
 import com.blog.entity.Article;
-import com.blog.entity.Category;
 import com.blog.entity.Tag;
 import com.blog.enums.ArticleStatus;
+import com.blog.enums.RankingWindow;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.mapper.ArticleMapper;
+import com.blog.mapper.ArticleTagMapper;
 import com.blog.mapper.CategoryMapper;
 import com.blog.mapper.TagMapper;
+import com.blog.search.ArticleSearchIndex;
+import com.blog.search.SearchHits;
 import com.blog.service.ArticleService;
+import com.blog.service.support.ArticleIdRegistry;
+import com.blog.service.support.ArticleRelationLoader;
+import com.blog.service.support.CommentStatusCounter;
+import com.blog.service.support.MarkdownRenderer;
+import com.blog.service.support.PopularArticleRanking;
+import com.blog.service.support.ViewCountBuffer;
+import com.blog.service.support.ViewEventTracker;
+import com.blog.util.SeekCursor;
+import com.blog.util.TransactionUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +54,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ArticleServiceImpl implements ArticleService {
     
+    /**
+     * 游标分页单页最大条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    
     @Autowired
     private ArticleMapper articleMapper;
     
@@ -41,20 +68,94 @@ public class ArticleServiceImpl implements ArticleService {
     @Autowired
     private TagMapper tagMapper;
     
+    @Autowired
+    private ArticleTagMapper articleTagMapper;
+    
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+    
+    @Autowired
+    private ArticleCache articleCache;
+    
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+    
+    @Autowired
+    private PopularArticleRanking popularArticleRanking;
+    
+    @Autowired
+    private ArticleRelationLoader articleRelationLoader;
+    
+    @Autowired
+    private MarkdownRenderer markdownRenderer;
+    
+    @Autowired
+    private ViewEventTracker viewEventTracker;
+    
+    @Autowired
+    private ArticleIdRegistry articleIdRegistry;
+
+    @Autowired
+    private CommentStatusCounter commentStatusCounter;
+    
     @Override
-    public IPage<ArticleDto> getArticles(int page, int size, String sortBy, String sortDir) {
-        Page<Article> pageParam = new Page<>(page, size);
-        IPage<Article> articles = articleMapper.selectPublishedArticles(pageParam);
-        return articles.convert(this::convertToDto);
+    public IPage<ArticleSummaryDto> getArticles(int page, int size, String sortBy, String sortDir) {
+        IPage<ArticleSummaryDto> cached = articleCache.getPublishedPage(page, size, () -> {
+            Page<Article> pageParam = new Page<>(page, size);
+            IPage<Article> articles = articleMapper.selectPublishedArticles(pageParam);
+            return articles.convert(this::convertToSummaryDto);
+        });
+        // 缓存的分页结果可能被其他请求共享，叠加访问量时返回新的分页对象
+        Map<Long, Long> viewCounts = currentViewCounts(cached.getRecords().stream()
+            .map(ArticleSummaryDto::id)
+            .collect(Collectors.toList()));
+        Page<ArticleSummaryDto> result = new Page<>(cached.getCurrent(), cached.getSize(), cached.getTotal());
+        result.setRecords(cached.getRecords().stream()
+            .map(article -> article.withViewCount(viewCounts.getOrDefault(article.id(), article.viewCount())))
+            .collect(Collectors.toList()));
+        return result;
+    }
+    
+    @Override
+    public CursorPage<ArticleSummaryDto> getArticlesByCursor(String cursor, int size, Long categoryId, Long tagId,
+                                                      boolean withTotal) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        // 多取一条用于判断是否还有下一页
+        List<Article> articles = articleMapper.selectPublishedByCursor(
+                categoryId, tagId, SeekCursor.decode(cursor), limit + 1);
+        
+        boolean hasMore = articles.size() > limit;
+        if (hasMore) {
+            articles = articles.subList(0, limit);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            Article last = articles.get(articles.size() - 1);
+            nextCursor = new SeekCursor(last.getCreateTime(), last.getId()).encode();
+        }
+        Long total = withTotal ? articleMapper.countPublished(categoryId, tagId) : null;
+        
+        List<ArticleSummaryDto> records = articles.stream()
+            .map(this::convertToSummaryDto)
+            .collect(Collectors.toList());
+        return new CursorPage<>(records, nextCursor, hasMore, total);
     }
     
     @Override
     public ArticleDto getArticleById(Long id) {
-        Article article = articleMapper.selectById(id);
+        ArticleDto article = articleCache.getArticle(id, () -> {
+            Article entity = articleMapper.selectById(id);
+            if (entity == null) {
+                return null;
+            }
+            markdownRenderer.ensureRendered(entity);
+            return convertToDto(entity);
+        });
         if (article == null) {
             throw new ResourceNotFoundException("文章不存在: " + id);
         }
-        return convertToDto(article);
+        Long viewCount = currentViewCounts(List.of(id)).get(id);
+        return viewCount != null ? article.withViewCount(viewCount) : article;
     }
     
     @Override
@@ -66,58 +167,235 @@ public class ArticleServiceImpl implements ArticleService {
         article.setAuthor(request.author());
         article.setCoverImage(request.coverImage());
         article.setStatus(ArticleStatus.DRAFT);
+        markdownRenderer.renderInto(article);
         
-        if (request.categoryId() != null) {
-            Category category = categoryMapper.selectById(request.categoryId());
-            if (category == null) {
-                throw new ResourceNotFoundException("分类不存在: " + request.categoryId());
-            }
-            article.setCategoryId(request.categoryId());
-        }
+        article.setCategoryId(validateCategory(request.categoryId()));
         
-        articleMapper.insert(article);
+        Set<Long> tagIds = validateTags(request.tagIds());
         
-        // TODO: 处理标签关联，需要创建article_tags表的操作
-        if (request.tagIds() != null && !request.tagIds().isEmpty()) {
-            // 这里需要实现文章标签关联的逻辑
-            log.info("文章标签关联功能待实现");
+        articleMapper.insert(article);
+        if (!tagIds.isEmpty()) {
+            articleTagMapper.insertBatch(article.getId(), tagIds);
         }
         
+        articleCache.evictPublishedPages();
+        TransactionUtils.afterCommit(() -> articleIdRegistry.register(article.getId()));
         return convertToDto(article);
     }
     
     @Override
-    public IPage<ArticleDto> getArticlesByCategory(Long categoryId, int page, int size) {
+    public ArticleDto updateArticle(Long id, CreateArticleRequest request) {
+        Article article = articleMapper.selectById(id);
+        if (article == null) {
+            throw new ResourceNotFoundException("文章不存在: " + id);
+        }
+        
+        article.setTitle(request.title());
+        article.setContent(request.content());
+        article.setSummary(request.summary());
+        article.setAuthor(request.author());
+        article.setCoverImage(request.coverImage());
+        article.setCategoryId(validateCategory(request.categoryId()));
+        markdownRenderer.renderInto(article);
+        // 置空后由自动填充写入当前时间
+        article.setUpdateTime(null);
+        
+        articleMapper.updateById(article);
+        // 未传tagIds时保留原有标签
+        if (request.tagIds() != null) {
+            Set<Long> tagIds = validateTags(request.tagIds());
+            articleTagMapper.deleteByArticleId(id);
+            if (!tagIds.isEmpty()) {
+                articleTagMapper.insertBatch(id, tagIds);
+            }
+        }
+        articleCache.evictArticle(id);
+        articleCache.evictPublishedPages();
+        TransactionUtils.afterCommit(() -> articleSearchIndex.update(article));
+        log.info("更新文章成功，ID: {}", id);
+        return withPendingViews(convertToDto(article));
+    }
+    
+    @Override
+    public ArticleDto updateArticleStatus(Long id, ArticleStatus status) {
+        Article article = articleMapper.selectById(id);
+        if (article == null) {
+            throw new ResourceNotFoundException("文章不存在: " + id);
+        }
+        
+        article.setStatus(status);
+        article.setUpdateTime(null);
+        articleMapper.updateById(article);
+        articleCache.evictArticle(id);
+        articleCache.evictPublishedPages();
+        TransactionUtils.afterCommit(() -> {
+            articleSearchIndex.update(article);
+            if (status == ArticleStatus.PUBLISHED) {
+                popularArticleRanking.track(id, article.getViewCount() != null ? article.getViewCount() : 0L);
+            } else {
+                popularArticleRanking.untrack(id);
+            }
+        });
+        log.info("更新文章状态成功，ID: {}, 状态: {}", id, status);
+        return withPendingViews(convertToDto(article));
+    }
+    
+    @Override
+    public void deleteArticle(Long id) {
+        Article article = articleMapper.selectById(id);
+        if (article == null) {
+            throw new ResourceNotFoundException("文章不存在: " + id);
+        }
+        
+        articleMapper.deleteById(id);
+        articleCache.evictArticle(id);
+        articleCache.evictPublishedPages();
+        // 文章的评论由外键级联删除
+        commentStatusCounter.invalidate();
+        TransactionUtils.afterCommit(() -> {
+            articleSearchIndex.remove(id);
+            popularArticleRanking.untrack(id);
+            articleIdRegistry.unregister(id);
+        });
+        log.info("删除文章成功，ID: {}", id);
+    }
+    
+    @Override
+    public IPage<ArticleSummaryDto> getArticlesByCategory(Long categoryId, int page, int size) {
         Page<Article> pageParam = new Page<>(page, size);
         IPage<Article> articles = articleMapper.selectByCategoryId(pageParam, categoryId);
-        return articles.convert(this::convertToDto);
+        return articles.convert(this::convertToSummaryDto);
     }
     
     @Override
-    public IPage<ArticleDto> getArticlesByTag(Long tagId, int page, int size) {
+    public IPage<ArticleSummaryDto> getArticlesByTag(Long tagId, int page, int size) {
         Page<Article> pageParam = new Page<>(page, size);
         IPage<Article> articles = articleMapper.selectByTagId(pageParam, tagId);
-        return articles.convert(this::convertToDto);
+        return articles.convert(this::convertToSummaryDto);
     }
     
     @Override
-    public IPage<ArticleDto> searchArticles(String keyword, int page, int size) {
+    public IPage<ArticleSummaryDto> searchArticles(String keyword, int page, int size) {
         Page<Article> pageParam = new Page<>(page, size);
-        IPage<Article> articles = articleMapper.searchArticles(pageParam, keyword);
-        return articles.convert(this::convertToDto);
+        if (!articleSearchIndex.isReady()) {
+            IPage<Article> articles = articleMapper.searchArticles(pageParam, keyword);
+            return articles.convert(this::convertToSummaryDto);
+        }
+        
+        SearchHits hits = articleSearchIndex.search(keyword, pageParam.offset(), size);
+        Page<ArticleSummaryDto> result = new Page<>(page, size, hits.total());
+        if (hits.articleIds().isEmpty()) {
+            return result;
+        }
+        
+        // 只查询当前页的文章，并按相关度顺序返回
+        Map<Long, Article> articles = articleMapper.selectPublishedSummariesByIds(hits.articleIds()).stream()
+            .collect(Collectors.toMap(Article::getId, Function.identity()));
+        result.setRecords(hits.articleIds().stream()
+            .map(articles::get)
+            .filter(Objects::nonNull)
+            .map(this::convertToSummaryDto)
+            .collect(Collectors.toList()));
+        return result;
     }
     
     @Override
-    public List<ArticleDto> getPopularArticles(int limit) {
-        List<Article> articles = articleMapper.selectPopularArticles(limit);
-        return articles.stream()
-            .map(this::convertToDto)
+    public List<ArticleSummaryDto> getPopularArticles(int limit, RankingWindow window) {
+        int size = Math.max(1, Math.min(limit, PopularArticleRanking.MAX_RANK_SIZE));
+        if (!popularArticleRanking.isReady()) {
+            List<Article> articles = window == RankingWindow.ALL
+                ? articleMapper.selectPopularArticles(size)
+                : List.of();
+            return articles.stream()
+                .map(this::convertToSummaryDto)
+                .map(this::withPendingViews)
+                .collect(Collectors.toList());
+        }
+        
+        long[] ranked = popularArticleRanking.top(window, size);
+        if (ranked.length == 0) {
+            return List.of();
+        }
+        List<Long> ids = Arrays.stream(ranked).boxed().collect(Collectors.toList());
+        Map<Long, Article> articles = articleMapper.selectPublishedSummariesByIds(ids).stream()
+            .collect(Collectors.toMap(Article::getId, Function.identity()));
+        return ids.stream()
+            .map(articles::get)
+            .filter(Objects::nonNull)
+            .map(this::convertToSummaryDto)
+            .map(this::withPendingViews)
             .collect(Collectors.toList());
     }
     
     @Override
-    public void incrementViewCount(Long id) {
-        articleMapper.incrementViewCount(id);
+    public List<ArticleSummaryDto> loadRelations(List<ArticleSummaryDto> articles) {
+        return articleRelationLoader.load(articles);
+    }
+    
+    @Override
+    public void trackView(Long id, String visitor) {
+        viewEventTracker.publish(id, visitor);
+    }
+    
+    /**
+     * 校验分类是否存在
+     */
+    private Long validateCategory(Long categoryId) {
+        if (categoryId != null && categoryMapper.selectById(categoryId) == null) {
+            throw new ResourceNotFoundException("分类不存在: " + categoryId);
+        }
+        return categoryId;
+    }
+    
+    private Set<Long> validateTags(Set<Long> tagIds) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> missing = new HashSet<>(tagIds);
+        tagMapper.selectBatchIds(tagIds).forEach(tag -> missing.remove(tag.getId()));
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("标签不存在: " + missing);
+        }
+        return tagIds;
+    }
+    
+    /**
+     * 文章的当前访问量：单独缓存的已落库访问量加上尚未落库的增量
+     */
+    private Map<Long, Long> currentViewCounts(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> persisted = articleCache.getViewCounts(ids, missing ->
+            articleMapper.selectViewCountsByIds(missing).stream()
+                .collect(Collectors.toMap(Article::getId, article -> article.getViewCount() != null ? article.getViewCount() : 0L)));
+        Map<Long, Long> counts = new HashMap<>();
+        persisted.forEach((id, viewCount) -> counts.put(id, viewCount + viewCountBuffer.getPendingCount(id)));
+        return counts;
+    }
+    
+    /**
+     * 在DTO的访问量上叠加尚未落库的增量
+     */
+    private ArticleDto withPendingViews(ArticleDto article) {
+        long pending = viewCountBuffer.getPendingCount(article.id());
+        if (pending == 0) {
+            return article;
+        }
+        long viewCount = article.viewCount() != null ? article.viewCount() : 0L;
+        return article.withViewCount(viewCount + pending);
+    }
+    
+    /**
+     * 在列表项的访问量上叠加尚未落库的增量
+     */
+    private ArticleSummaryDto withPendingViews(ArticleSummaryDto article) {
+        long pending = viewCountBuffer.getPendingCount(article.id());
+        if (pending == 0) {
+            return article;
+        }
+        long viewCount = article.viewCount() != null ? article.viewCount() : 0L;
+        return article.withViewCount(viewCount + pending);
     }
     
     /**
@@ -128,14 +406,38 @@ public class ArticleServiceImpl implements ArticleService {
                 article.getId(),
                 article.getTitle(),
                 article.getContent(),
+                article.getContentHtml(),
+                article.getContentHash(),
                 article.getSummary(),
                 article.getAuthor(),
                 article.getStatus(),
                 article.getCategoryId(),
                 article.getCoverImage(),
                 article.getViewCount(),
+                article.getCommentCount(),
                 article.getCreateTime(),
                 article.getUpdateTime()
         );
     }
+    
+    /**
+     * 将实体转换为列表项DTO
+     */
+    private ArticleSummaryDto convertToSummaryDto(Article article) {
+        return new ArticleSummaryDto(
+                article.getId(),
+                article.getTitle(),
+                article.getSummary(),
+                article.getAuthor(),
+                article.getStatus(),
+                article.getCategoryId(),
+                article.getCoverImage(),
+                article.getViewCount(),
+                article.getCommentCount(),
+                article.getCreateTime(),
+                article.getUpdateTime(),
+                null,
+                null
+        );
+    }
 }
@@ -2,21 +2,52 @@ package com.blog.service.impl;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.cache.ArticleCache;
 import com.blog.dto.CommentDto;
+import com.blog.dto.CommentModerationRequest;
+import com.blog.dto.CommentModerationResult;
+import com.blog.dto.CommentThreadDto;
 import com.blog.dto.CreateCommentRequest;
-import com.blog.entity.Article;
+import com.blog.dto.CursorPage;
 import com.blog.entity.Comment;
-import com.blog.entity.User;
 import com.blog.enums.CommentStatus;
+import com.blog.event.CommentApprovedEvent;
+import com.blog.event.CommentCreatedEvent;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.mapper.ArticleMapper;
 import com.blog.mapper.CommentMapper;
-import com.blog.mapper.UserMapper;
 import com.blog.service.CommentService;
+import com.blog.service.support.ArticleIdRegistry;
+import com.blog.service.support.CommentAuthorLoader;
+import com.blog.service.support.CommentStatusCounter;
+import com.blog.service.support.CommentThreadAssembler;
+import com.blog.util.SeekCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * 评论服务实现类
@@ -27,9 +58,56 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class CommentServiceImpl implements CommentService {
 
+    /**
+     * 批量查询评论数时单次最多的文章数
+     */
+    private static final int MAX_COUNT_BATCH_SIZE = 100;
+
+    /**
+     * 游标分页单页最大条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * 允许存储的最大回复层级，受物化路径列长度限制
+     */
+    private static final int MAX_STORED_DEPTH = 15;
+
+    /**
+     * 顶层评论的祖先路径
+     */
+    private static final String ROOT_PATH = "/";
+
+    /**
+     * MySQL外键约束失败信息中的约束名，如 CONSTRAINT `fk_comments_user` FOREIGN KEY
+     */
+    private static final Pattern FOREIGN_KEY = Pattern.compile("CONSTRAINT `([^`]+)` FOREIGN KEY");
+
+    /**
+     * 导出评论时每写出多少行刷新一次输出
+     */
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
+    /**
+     * 批量审核单次最多处理的评论数
+     */
+    private static final int MAX_MODERATION_SIZE = 5000;
+
+    /**
+     * 批量审核每个事务处理的评论数
+     */
+    private static final int MODERATION_CHUNK_SIZE = 500;
+
     private final CommentMapper commentMapper;
     private final ArticleMapper articleMapper;
-    private final UserMapper userMapper;
+    private final ArticleCache articleCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final CommentAuthorLoader commentAuthorLoader;
+    private final ArticleIdRegistry articleIdRegistry;
+    private final ObjectMapper objectMapper;
+    private final CommentThreadAssembler commentThreadAssembler;
+    private final CommentStatusCounter commentStatusCounter;
 
     @Override
     @Transactional(readOnly = true)
@@ -45,42 +123,144 @@ public class CommentServiceImpl implements CommentService {
     @Transactional(readOnly = true)
     public IPage<CommentDto> getApprovedCommentsByArticleId(Long articleId, Page<Comment> page) {
         IPage<Comment> comments = commentMapper.selectByArticleIdAndStatusApproved(page, articleId);
-        return comments.convert(this::convertToDto);
+        return withAuthors(comments.convert(this::convertToDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getApprovedCommentsByCursor(Long articleId, String cursor, String after, int size) {
+        if (cursor != null && after != null) {
+            throw new IllegalArgumentException("cursor和after不能同时指定");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        SeekCursor afterCursor = SeekCursor.decode(after);
+        // 多取一条用于判断是否还有更多数据
+        List<Comment> comments = afterCursor != null
+                ? commentMapper.selectApprovedAfter(articleId, afterCursor, limit + 1)
+                : commentMapper.selectApprovedBefore(articleId, SeekCursor.decode(cursor), limit + 1);
+
+        boolean hasMore = comments.size() > limit;
+        if (hasMore) {
+            comments = comments.subList(0, limit);
+        }
+        String nextCursor = null;
+        String latestCursor;
+        if (afterCursor != null) {
+            // 轮询模式下没有新评论时沿用原游标
+            latestCursor = comments.isEmpty() ? after : toCursor(comments.get(comments.size() - 1));
+            nextCursor = hasMore ? latestCursor : null;
+        } else {
+            latestCursor = comments.isEmpty() ? null : toCursor(comments.get(0));
+            if (hasMore) {
+                nextCursor = toCursor(comments.get(comments.size() - 1));
+            }
+        }
+
+        List<CommentDto> records = commentAuthorLoader.load(comments.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+        // 首页顺带返回评论总数，取自文章上维护的计数
+        Long total = cursor == null && afterCursor == null ? countCommentsByArticleId(articleId) : null;
+        return new CursorPage<>(records, nextCursor, hasMore, total, latestCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
     public IPage<CommentDto> getAllCommentsByArticleId(Long articleId, Page<Comment> page) {
         IPage<Comment> comments = commentMapper.selectByArticleId(page, articleId);
-        return comments.convert(this::convertToDto);
+        return withAuthors(comments.convert(this::convertToDto));
     }
 
     @Override
     @Transactional(readOnly = true)
     public IPage<CommentDto> getCommentsByStatus(CommentStatus status, Page<Comment> page) {
         IPage<Comment> comments = commentMapper.selectByStatus(page, status);
-        return comments.convert(this::convertToDto);
+        return withAuthors(comments.convert(this::convertToDto));
     }
 
     @Override
     @Transactional(readOnly = true)
     public IPage<CommentDto> getCommentsByUserId(Long userId, Page<Comment> page) {
         IPage<Comment> comments = commentMapper.selectByUserId(page, userId);
-        return comments.convert(this::convertToDto);
+        return withAuthors(comments.convert(this::convertToDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentThreadDto getCommentThread(Long id) {
+        Comment root = commentMapper.selectById(id);
+        if (root == null || root.getStatus() != CommentStatus.APPROVED) {
+            throw new ResourceNotFoundException("评论不存在，ID: " + id);
+        }
+        // 根评论占一个节点，回复多取一层和一条，用于判断是否还有被省略的回复
+        int limit = commentThreadAssembler.getMaxNodes() - 1;
+        List<Comment> replies = commentMapper.selectApprovedSubtree(descendantPrefix(root),
+                root.getDepth() + commentThreadAssembler.getMaxDepth() + 1, limit + 1);
+        boolean truncated = replies.size() > limit;
+        if (truncated) {
+            replies = replies.subList(0, limit);
+        }
+        List<Comment> subtree = new ArrayList<>(replies.size() + 1);
+        subtree.add(root);
+        subtree.addAll(replies);
+        Map<Long, Integer> depths = new HashMap<>();
+        subtree.forEach(comment -> depths.put(comment.getId(), comment.getDepth()));
+        List<CommentDto> comments = commentAuthorLoader.load(subtree.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+        return commentThreadAssembler.assemble(comments, depths, truncated);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDto> getCommentsByUserIdAndCursor(Long userId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        List<Comment> comments = commentMapper.selectByUserIdBefore(userId, SeekCursor.decode(cursor), limit + 1);
+        boolean hasMore = comments.size() > limit;
+        if (hasMore) {
+            comments = comments.subList(0, limit);
+        }
+        String nextCursor = hasMore ? toCursor(comments.get(comments.size() - 1)) : null;
+        List<CommentDto> records = commentAuthorLoader.load(comments.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList()));
+        return new CursorPage<>(records, nextCursor, hasMore, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCommentsByUserId(Long userId, OutputStream output) throws IOException {
+        long exported = 0;
+        try (Cursor<Comment> comments = commentMapper.streamByUserId(userId)) {
+            for (Comment comment : comments) {
+                output.write(objectMapper.writeValueAsBytes(convertToDto(comment)));
+                output.write('\n');
+                if (++exported % EXPORT_FLUSH_INTERVAL == 0) {
+                    output.flush();
+                }
+            }
+        }
+        output.flush();
+        log.info("导出用户评论完成，用户ID: {}, 评论数: {}", userId, exported);
     }
 
     @Override
     public CommentDto createComment(CreateCommentRequest request, Long userId) {
-        // 验证文章是否存在
-        Article article = articleMapper.selectById(request.articleId());
-        if (article == null) {
+        // 文章存在性走ID登记表，用户ID来自已认证的调用方；两者最终都由外键约束保证
+        if (!articleIdRegistry.exists(request.articleId())) {
             throw new ResourceNotFoundException("文章不存在，ID: " + request.articleId());
         }
 
-        // 验证用户是否存在
-        User user = userMapper.selectById(userId);
-        if (user == null) {
-            throw new ResourceNotFoundException("用户不存在，ID: " + userId);
+        Comment parent = null;
+        if (request.parentId() != null) {
+            // 共享锁阻止被回复的评论在插入前被删除，避免留下孤立的回复
+            parent = commentMapper.selectPathByIdForShare(request.parentId());
+            if (parent == null || !parent.getArticleId().equals(request.articleId())) {
+                throw new ResourceNotFoundException("回复的评论不存在，ID: " + request.parentId());
+            }
+            if (parent.getDepth() + 1 > MAX_STORED_DEPTH) {
+                throw new IllegalArgumentException("回复层级过深");
+            }
         }
 
         // 创建评论
@@ -89,45 +269,262 @@ public class CommentServiceImpl implements CommentService {
         comment.setUserId(userId);
         comment.setContent(request.content());
         comment.setStatus(CommentStatus.PENDING);
+        comment.setParentId(request.parentId());
+        // 只存祖先路径，不含自身ID，插入一次即可写全楼层信息
+        comment.setPath(parent != null ? descendantPrefix(parent) : ROOT_PATH);
+        comment.setDepth(parent != null ? parent.getDepth() + 1 : 0);
 
-        commentMapper.insert(comment);
+        try {
+            commentMapper.insert(comment);
+        } catch (DataIntegrityViolationException e) {
+            throw translateForeignKey(e, request.articleId(), userId);
+        }
+        adjustApprovedCount(comment.getArticleId(), null, comment.getStatus());
+        commentStatusCounter.transition(null, comment.getStatus());
         log.info("创建评论成功，文章ID: {}, 用户ID: {}", request.articleId(), userId);
-        return convertToDto(comment);
+        CommentDto dto = convertToDto(comment);
+        eventPublisher.publishEvent(new CommentCreatedEvent(dto));
+        return dto;
     }
 
     @Override
     public CommentDto updateCommentStatus(Long id, CommentStatus status) {
-        Comment comment = commentMapper.selectById(id);
+        // 加锁读取，避免并发审核时按同一个旧状态重复调整评论数
+        Comment comment = commentMapper.selectByIdForUpdate(id);
         if (comment == null) {
             throw new ResourceNotFoundException("评论不存在，ID: " + id);
         }
 
-        comment.setStatus(status);
-        commentMapper.updateById(comment);
+        CommentDto dto = applyStatus(comment, status);
         log.info("更新评论状态成功，ID: {}, 状态: {}", id, status);
-        return convertToDto(comment);
+        return dto;
+    }
+
+    @Override
+    public boolean autoModerateComment(Long id, CommentStatus status) {
+        Comment comment = commentMapper.selectByIdForUpdate(id);
+        // 人工审核已处理或评论已删除时不再覆盖
+        if (comment == null || comment.getStatus() != CommentStatus.PENDING) {
+            return false;
+        }
+        applyStatus(comment, status);
+        return true;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CommentModerationResult moderateComments(CommentModerationRequest request) {
+        List<Long> ids = resolveModerationIds(request);
+        CommentStatus status = request.status();
+        Map<Long, CommentModerationResult.Result> results = new LinkedHashMap<>();
+        ids.forEach(id -> results.put(id, CommentModerationResult.Result.NOT_FOUND));
+
+        // 每块在独立事务中完成：加锁读取、一条UPDATE改状态、一条UPDATE调整评论数
+        for (int from = 0; from < ids.size(); from += MODERATION_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MODERATION_CHUNK_SIZE, ids.size()));
+            transactionTemplate.executeWithoutResult(tx -> moderateChunk(chunk, status, results));
+        }
+
+        List<CommentModerationResult.Outcome> outcomes = new ArrayList<>(results.size());
+        Map<CommentModerationResult.Result, Integer> totals = new EnumMap<>(CommentModerationResult.Result.class);
+        results.forEach((id, result) -> {
+            outcomes.add(new CommentModerationResult.Outcome(id, result));
+            totals.merge(result, 1, Integer::sum);
+        });
+        log.info("批量审核评论完成，状态: {}, 统计: {}", status, totals);
+        return new CommentModerationResult(status,
+                totals.getOrDefault(CommentModerationResult.Result.UPDATED, 0),
+                totals.getOrDefault(CommentModerationResult.Result.UNCHANGED, 0),
+                totals.getOrDefault(CommentModerationResult.Result.NOT_FOUND, 0),
+                outcomes);
     }
 
     @Override
     public void deleteComment(Long id) {
-        Comment comment = commentMapper.selectById(id);
+        Comment comment = commentMapper.selectByIdForUpdate(id);
         if (comment == null) {
             throw new ResourceNotFoundException("评论不存在，ID: " + id);
         }
+        // 回复随评论一起删除，先锁住整棵子树，再按删除前的状态调整评论数
+        String prefix = descendantPrefix(comment);
+        List<Comment> replies = commentMapper.selectSubtreeStatusForUpdate(prefix);
+        commentMapper.deleteSubtree(prefix);
         commentMapper.deleteById(id);
-        log.info("删除评论成功，ID: {}", id);
+
+        Map<CommentStatus, Long> deleted = new EnumMap<>(CommentStatus.class);
+        deleted.put(comment.getStatus(), 1L);
+        replies.forEach(reply -> deleted.merge(reply.getStatus(), 1L, Long::sum));
+        adjustApprovedCount(comment.getArticleId(), -deleted.getOrDefault(CommentStatus.APPROVED, 0L).intValue());
+        deleted.forEach((status, count) -> commentStatusCounter.transition(status, null, count));
+        log.info("删除评论成功，ID: {}, 同时删除回复数: {}", id, replies.size());
     }
 
     @Override
     @Transactional(readOnly = true)
     public long countCommentsByArticleId(Long articleId) {
-        return commentMapper.countByArticleIdAndStatusApproved(articleId);
+        return countApprovedByArticleIds(List.of(articleId)).getOrDefault(articleId, 0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> countApprovedByArticleIds(Collection<Long> articleIds) {
+        if (articleIds == null || articleIds.isEmpty()) {
+            return Map.of();
+        }
+        if (articleIds.size() > MAX_COUNT_BATCH_SIZE) {
+            throw new IllegalArgumentException("单次最多查询" + MAX_COUNT_BATCH_SIZE + "篇文章的评论数");
+        }
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        articleMapper.selectCommentCountsByIds(articleIds)
+                .forEach(article -> counts.put(article.getId(), article.getCommentCount()));
+        return counts;
     }
 
     @Override
     @Transactional(readOnly = true)
     public long countPendingComments() {
-        return commentMapper.countByStatus(CommentStatus.PENDING);
+        return commentStatusCounter.count(CommentStatus.PENDING);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<CommentStatus, Long> countCommentsByStatus() {
+        return commentStatusCounter.snapshot();
+    }
+
+    /**
+     * 评论状态变化时调整文章的已批准评论数，状态为null表示评论不存在（新建前或删除后）
+     */
+    private void adjustApprovedCount(Long articleId, CommentStatus previous, CommentStatus current) {
+        adjustApprovedCount(articleId, approvedDelta(previous, current));
+    }
+
+    private void adjustApprovedCount(Long articleId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        articleMapper.adjustCommentCount(articleId, delta);
+        articleCache.evictArticle(articleId);
+        articleCache.evictPublishedPages();
+    }
+
+    /**
+     * 修改已加锁评论的状态，同步调整评论数并在审核通过时发布事件
+     */
+    private CommentDto applyStatus(Comment comment, CommentStatus status) {
+        CommentStatus previous = comment.getStatus();
+        comment.setStatus(status);
+        commentMapper.updateById(comment);
+        adjustApprovedCount(comment.getArticleId(), previous, status);
+        commentStatusCounter.transition(previous, status);
+        CommentDto dto = convertToDto(comment);
+        if (status == CommentStatus.APPROVED && previous != CommentStatus.APPROVED) {
+            eventPublisher.publishEvent(new CommentApprovedEvent(dto));
+        }
+        return dto;
+    }
+
+    /**
+     * 解析批量审核的评论ID，未指定ID时按条件查询
+     */
+    private List<Long> resolveModerationIds(CommentModerationRequest request) {
+        List<Long> ids;
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            ids = request.ids().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+        } else {
+            int limit = request.limit() != null ? request.limit() : MAX_MODERATION_SIZE;
+            if (limit <= 0) {
+                throw new IllegalArgumentException("limit必须大于0");
+            }
+            CommentStatus currentStatus = request.currentStatus() != null
+                    ? request.currentStatus() : CommentStatus.PENDING;
+            ids = commentMapper.selectIdsForModeration(request.articleId(), currentStatus,
+                    Math.min(limit, MAX_MODERATION_SIZE));
+        }
+        if (ids.size() > MAX_MODERATION_SIZE) {
+            throw new IllegalArgumentException("单次最多审核" + MAX_MODERATION_SIZE + "条评论");
+        }
+        return ids;
+    }
+
+    private void moderateChunk(List<Long> ids, CommentStatus status,
+                               Map<Long, CommentModerationResult.Result> results) {
+        List<Comment> changed = new ArrayList<>();
+        for (Comment comment : commentMapper.selectByIdsForUpdate(ids)) {
+            if (comment.getStatus() == status) {
+                results.put(comment.getId(), CommentModerationResult.Result.UNCHANGED);
+            } else {
+                changed.add(comment);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        commentMapper.updateStatusByIds(changed.stream().map(Comment::getId).collect(Collectors.toList()), status);
+
+        Map<Long, Integer> deltas = new HashMap<>();
+        Map<CommentStatus, Long> previousCounts = new EnumMap<>(CommentStatus.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (Comment comment : changed) {
+            int delta = approvedDelta(comment.getStatus(), status);
+            if (delta != 0) {
+                deltas.merge(comment.getArticleId(), delta, Integer::sum);
+            }
+            previousCounts.merge(comment.getStatus(), 1L, Long::sum);
+            boolean approved = status == CommentStatus.APPROVED;
+            comment.setStatus(status);
+            comment.setUpdateTime(now);
+            if (approved) {
+                eventPublisher.publishEvent(new CommentApprovedEvent(convertToDto(comment)));
+            }
+            results.put(comment.getId(), CommentModerationResult.Result.UPDATED);
+        }
+        previousCounts.forEach((previous, count) -> commentStatusCounter.transition(previous, status, count));
+        deltas.values().removeIf(delta -> delta == 0);
+        if (!deltas.isEmpty()) {
+            articleMapper.batchAdjustCommentCount(deltas);
+            deltas.keySet().forEach(articleCache::evictArticle);
+            articleCache.evictPublishedPages();
+        }
+    }
+
+    private IPage<CommentDto> withAuthors(IPage<CommentDto> page) {
+        page.setRecords(commentAuthorLoader.load(page.getRecords()));
+        return page;
+    }
+
+    /**
+     * 评论所有回复共享的路径前缀，即评论自身的祖先路径加上自身ID
+     */
+    private static String descendantPrefix(Comment comment) {
+        return comment.getPath() + String.format("%012d/", comment.getId());
+    }
+
+    /**
+     * 按约束名把评论外键冲突翻译为文章或用户不存在，约束名见init.sql
+     */
+    private static RuntimeException translateForeignKey(DataIntegrityViolationException e, Long articleId, Long userId) {
+        Matcher matcher = FOREIGN_KEY.matcher(String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+        if (!matcher.find()) {
+            return e;
+        }
+        return switch (matcher.group(1)) {
+            case "fk_comments_article" -> new ResourceNotFoundException("文章不存在，ID: " + articleId);
+            case "fk_comments_user" -> new ResourceNotFoundException("用户不存在，ID: " + userId);
+            default -> e;
+        };
+    }
+
+    private static int approvedDelta(CommentStatus previous, CommentStatus current) {
+        return (current == CommentStatus.APPROVED ? 1 : 0) - (previous == CommentStatus.APPROVED ? 1 : 0);
+    }
+
+    private static String toCursor(Comment comment) {
+        return new SeekCursor(comment.getCreateTime(), comment.getId()).encode();
     }
 
     /**
@@ -138,10 +535,12 @@ public class CommentServiceImpl implements CommentService {
                 comment.getId(),
                 comment.getArticleId(),
                 comment.getUserId(),
+                comment.getParentId(),
                 comment.getContent(),
                 comment.getStatus(),
                 comment.getCreateTime(),
-                comment.getUpdateTime()
+                comment.getUpdateTime(),
+                null
         );
     }
 }
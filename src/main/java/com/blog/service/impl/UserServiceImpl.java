@@ -3,18 +3,38 @@ package com.blog.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.blog.cache.UserProfileCache;
 import com.blog.dto.UserDto;
+import com.blog.dto.UserProvisionResult;
 import com.blog.entity.User;
 import com.blog.enums.UserRole;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.mapper.UserMapper;
 import com.blog.service.UserService;
+import com.blog.service.support.CommentStatusCounter;
+import com.blog.service.support.MybatisBatchExecutor;
+import com.blog.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * 用户服务实现类
@@ -25,37 +45,61 @@ import java.util.Optional;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    /**
+     * 单次批量创建的最大用户数
+     */
+    private static final int MAX_PROVISION_SIZE = 1000;
+
+    /**
+     * 每个事务批量插入的用户数
+     */
+    private static final int PROVISION_CHUNK_SIZE = 500;
+
+    /**
+     * MySQL唯一约束冲突信息末尾的索引名，如 for key 'users.username'，MySQL 8.0.19之前不带表名
+     */
+    private static final Pattern DUPLICATE_KEY = Pattern.compile("for key '(?:[^'.]+\\.)?([^'.]+)'\\s*$");
+
     private final UserMapper userMapper;
+    private final UserProfileCache userProfileCache;
+    private final CommentStatusCounter commentStatusCounter;
+    private final MybatisBatchExecutor batchExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
     public UserDto getUserById(Long id) {
+        UserDto cached = userProfileCache.getById(id);
+        if (cached != null) {
+            return cached;
+        }
         User user = userMapper.selectById(id);
         if (user == null) {
             throw new ResourceNotFoundException("用户不存在，ID: " + id);
         }
-        return convertToDto(user);
+        return cache(user);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<UserDto> getUserByUsername(String username) {
-        User user = userMapper.selectByUsername(username);
-        return Optional.ofNullable(user).map(this::convertToDto);
+        return Optional.ofNullable(findByUsername(username));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<UserDto> getUserByEmail(String email) {
-        User user = userMapper.selectByEmail(email);
-        return Optional.ofNullable(user).map(this::convertToDto);
+        return Optional.ofNullable(findByEmail(email));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<UserDto> getUserByGithubId(String githubId) {
-        User user = userMapper.selectByGithubId(githubId);
-        return Optional.ofNullable(user).map(this::convertToDto);
+        UserDto cached = userProfileCache.getByGithubId(githubId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return Optional.ofNullable(cache(userMapper.selectByGithubId(githubId)));
     }
 
     @Override
@@ -67,18 +111,15 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto createUser(UserDto userDto) {
-        // 检查用户名是否已存在
-        if (userMapper.selectByUsername(userDto.username()) != null) {
-            throw new IllegalArgumentException("用户名已存在: " + userDto.username());
-        }
-
-        // 检查邮箱是否已存在
-        if (userMapper.selectByEmail(userDto.email()) != null) {
-            throw new IllegalArgumentException("邮箱已存在: " + userDto.email());
-        }
+        // 一次查询检查用户名、邮箱和GitHub ID，并发创建时由唯一约束兜底
+        checkConflicts(userDto, null);
 
         User user = convertToEntity(userDto);
-        userMapper.insert(user);
+        try {
+            userMapper.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw translateDuplicateKey(e, user);
+        }
         log.info("创建用户成功: {}", user.getUsername());
         return convertToDto(user);
     }
@@ -90,17 +131,8 @@ public class UserServiceImpl implements UserService {
             throw new ResourceNotFoundException("用户不存在，ID: " + id);
         }
 
-        // 检查用户名是否被其他用户使用
-        User userByUsername = userMapper.selectByUsername(userDto.username());
-        if (userByUsername != null && !userByUsername.getId().equals(id)) {
-            throw new IllegalArgumentException("用户名已存在: " + userDto.username());
-        }
-
-        // 检查邮箱是否被其他用户使用
-        User userByEmail = userMapper.selectByEmail(userDto.email());
-        if (userByEmail != null && !userByEmail.getId().equals(id)) {
-            throw new IllegalArgumentException("邮箱已存在: " + userDto.email());
-        }
+        // 检查用户名、邮箱和GitHub ID是否被其他用户使用
+        checkConflicts(userDto, id);
 
         // 更新用户信息
         existingUser.setUsername(userDto.username());
@@ -109,7 +141,13 @@ public class UserServiceImpl implements UserService {
         existingUser.setGithubId(userDto.githubId());
         existingUser.setRole(userDto.role());
 
-        userMapper.updateById(existingUser);
+        try {
+            userMapper.updateById(existingUser);
+        } catch (DuplicateKeyException e) {
+            throw translateDuplicateKey(e, existingUser);
+        }
+        // 按ID移除会同时移除旧用户名、旧邮箱等二级键
+        userProfileCache.evict(id);
         log.info("更新用户成功: {}", existingUser.getUsername());
         return convertToDto(existingUser);
     }
@@ -122,53 +160,236 @@ public class UserServiceImpl implements UserService {
         }
 
         userMapper.deleteById(id);
+        userProfileCache.evict(id);
+        // 用户的评论由外键级联删除
+        commentStatusCounter.invalidate();
         log.info("删除用户成功: {}", user.getUsername());
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
-        return userMapper.selectByUsername(username) != null;
+        return findByUsername(username) != null;
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return userMapper.selectByEmail(email) != null;
+        return findByEmail(email) != null;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<UserDto> getUserByUsernameOrEmail(String usernameOrEmail) {
-        User user = userMapper.selectByUsernameOrEmail(usernameOrEmail);
-        return Optional.ofNullable(user).map(this::convertToDto);
+        UserDto cached = userProfileCache.getByUsername(usernameOrEmail);
+        if (cached == null) {
+            cached = userProfileCache.getByEmail(usernameOrEmail);
+        }
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return Optional.ofNullable(cache(userMapper.selectByUsernameOrEmail(usernameOrEmail)));
     }
 
     @Override
     public UserDto createOrUpdateUserByGithubId(String githubId, String username, String email, String avatar) {
-        User existingUser = userMapper.selectByGithubId(githubId);
-        
-        if (existingUser != null) {
-            // 更新现有用户信息
-            existingUser.setUsername(username);
-            existingUser.setEmail(email);
-            existingUser.setAvatar(avatar);
-            userMapper.updateById(existingUser);
-            log.info("更新GitHub用户信息: {}", username);
-            return convertToDto(existingUser);
-        } else {
-            // 创建新用户
-            User newUser = new User();
-            newUser.setGithubId(githubId);
-            newUser.setUsername(username);
-            newUser.setEmail(email);
-            newUser.setAvatar(avatar);
-            newUser.setRole(UserRole.USER);
-            
-            userMapper.insert(newUser);
-            log.info("创建GitHub用户: {}", username);
-            return convertToDto(newUser);
+        // 资料与缓存一致时直接返回，登录不产生写入
+        UserDto cached = userProfileCache.getByGithubId(githubId);
+        if (cached != null && Objects.equals(cached.username(), username)
+                && Objects.equals(cached.email(), email) && Objects.equals(cached.avatar(), avatar)) {
+            return cached;
+        }
+
+        // 一条语句完成插入或更新，同一GitHub用户并发登录时由github_id唯一键保证只有一行
+        User user = new User();
+        user.setGithubId(githubId);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setAvatar(avatar);
+        user.setRole(UserRole.USER);
+        userMapper.upsertByGithubId(user);
+
+        User saved = userMapper.selectByGithubId(githubId);
+        if (saved == null || !Objects.equals(saved.getUsername(), username) || !Objects.equals(saved.getEmail(), email)) {
+            // 用户名或邮箱与其他用户冲突时语句不会修改任何行
+            List<User> conflicts = userMapper.selectConflicts(username, email, null, saved != null ? saved.getId() : null);
+            String reason = conflictReason(user, conflicts);
+            throw new IllegalArgumentException(reason != null ? reason : "用户名已存在: " + username);
+        }
+
+        UserDto dto = convertToDto(saved);
+        userProfileCache.evict(saved.getId());
+        TransactionUtils.afterCommit(() -> userProfileCache.put(dto));
+        log.info("GitHub用户登录并同步资料: {}, 用户ID: {}", username, saved.getId());
+        return dto;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserProvisionResult provisionUsers(List<UserDto> users) {
+        if (users == null || users.isEmpty()) {
+            throw new IllegalArgumentException("用户列表不能为空");
+        }
+        if (users.size() > MAX_PROVISION_SIZE) {
+            throw new IllegalArgumentException("单次最多创建" + MAX_PROVISION_SIZE + "个用户");
+        }
+
+        Map<Integer, String> failures = new TreeMap<>();
+        List<PendingUser> pending = new ArrayList<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> githubIds = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = convertToEntity(users.get(i));
+            if (user.getRole() == null) {
+                user.setRole(UserRole.USER);
+            }
+            // 数据库按不区分大小写的排序规则比较，请求内查重也忽略大小写
+            if (!usernames.add(normalize(user.getUsername()))) {
+                failures.put(i, "用户名重复: " + user.getUsername());
+            } else if (!emails.add(normalize(user.getEmail()))) {
+                failures.put(i, "邮箱重复: " + user.getEmail());
+            } else if (user.getGithubId() != null && !githubIds.add(normalize(user.getGithubId()))) {
+                failures.put(i, "GitHub ID重复: " + user.getGithubId());
+            } else {
+                pending.add(new PendingUser(i, user));
+            }
+        }
+
+        // 一次查询找出已被占用的用户名、邮箱和GitHub ID
+        List<User> conflicts = userMapper.selectConflictsIn(usernames, emails, githubIds);
+        if (!conflicts.isEmpty()) {
+            pending.removeIf(candidate -> {
+                String reason = conflictReason(candidate.user(), conflicts);
+                if (reason != null) {
+                    failures.put(candidate.index(), reason);
+                }
+                return reason != null;
+            });
+        }
+
+        for (int from = 0; from < pending.size(); from += PROVISION_CHUNK_SIZE) {
+            insertChunk(pending.subList(from, Math.min(from + PROVISION_CHUNK_SIZE, pending.size())), failures);
+        }
+
+        List<UserDto> created = pending.stream()
+                .filter(candidate -> !failures.containsKey(candidate.index()))
+                .map(candidate -> convertToDto(candidate.user()))
+                .collect(Collectors.toList());
+        List<UserProvisionResult.Failure> failureList = failures.entrySet().stream()
+                .map(entry -> new UserProvisionResult.Failure(
+                        entry.getKey(), users.get(entry.getKey()).username(), entry.getValue()))
+                .collect(Collectors.toList());
+        log.info("批量创建用户完成，请求数: {}, 成功: {}, 失败: {}", users.size(), created.size(), failureList.size());
+        return new UserProvisionResult(users.size(), created.size(), failureList.size(), created, failureList);
+    }
+
+    /**
+     * 在一个事务中批量插入一块用户，失败时逐条重试以定位冲突的记录
+     */
+    private void insertChunk(List<PendingUser> chunk, Map<Integer, String> failures) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batchExecutor.execute(UserMapper.class,
+                    mapper -> chunk.forEach(candidate -> mapper.insert(candidate.user()))));
+            return;
+        } catch (Exception e) {
+            log.warn("批量创建用户失败，逐条重试，记录数: {}", chunk.size(), e);
+        }
+
+        for (PendingUser candidate : chunk) {
+            candidate.user().setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> userMapper.insert(candidate.user()));
+            } catch (DuplicateKeyException e) {
+                failures.put(candidate.index(), translateDuplicateKey(e, candidate.user()).getMessage());
+            } catch (Exception e) {
+                failures.put(candidate.index(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+    }
+
+    /**
+     * 检查用户名、邮箱和GitHub ID是否已被其他用户占用，excludeId为更新中的用户本身
+     */
+    private void checkConflicts(UserDto userDto, Long excludeId) {
+        List<User> conflicts = userMapper.selectConflicts(
+                userDto.username(), userDto.email(), userDto.githubId(), excludeId);
+        if (!conflicts.isEmpty()) {
+            User candidate = convertToEntity(userDto);
+            String reason = conflictReason(candidate, conflicts);
+            throw new IllegalArgumentException(reason != null ? reason : "用户名已存在: " + userDto.username());
+        }
+    }
+
+    /**
+     * 返回用户与已有用户冲突的原因，依次检查用户名、邮箱和GitHub ID，无冲突时返回null
+     */
+    private static String conflictReason(User user, List<User> existing) {
+        for (User other : existing) {
+            if (user.getUsername().equalsIgnoreCase(other.getUsername())) {
+                return "用户名已存在: " + user.getUsername();
+            }
+        }
+        for (User other : existing) {
+            if (user.getEmail().equalsIgnoreCase(other.getEmail())) {
+                return "邮箱已存在: " + user.getEmail();
+            }
+        }
+        for (User other : existing) {
+            if (user.getGithubId() != null && user.getGithubId().equalsIgnoreCase(other.getGithubId())) {
+                return "GitHub ID已存在: " + user.getGithubId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将唯一约束冲突转换为与预检查一致的参数错误，无法识别的约束原样抛出。
+     * 只按信息末尾的索引名判断，冲突的值本身可能包含任意文本
+     */
+    private static RuntimeException translateDuplicateKey(DuplicateKeyException e, User user) {
+        Matcher matcher = DUPLICATE_KEY.matcher(String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+        if (!matcher.find()) {
+            return e;
         }
+        return switch (matcher.group(1)) {
+            case "username" -> new IllegalArgumentException("用户名已存在: " + user.getUsername());
+            case "email" -> new IllegalArgumentException("邮箱已存在: " + user.getEmail());
+            case "github_id" -> new IllegalArgumentException("GitHub ID已存在: " + user.getGithubId());
+            default -> e;
+        };
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 按用户名查找，先查缓存
+     */
+    private UserDto findByUsername(String username) {
+        UserDto cached = userProfileCache.getByUsername(username);
+        return cached != null ? cached : cache(userMapper.selectByUsername(username));
+    }
+
+    /**
+     * 按邮箱查找，先查缓存
+     */
+    private UserDto findByEmail(String email) {
+        UserDto cached = userProfileCache.getByEmail(email);
+        return cached != null ? cached : cache(userMapper.selectByEmail(email));
+    }
+
+    /**
+     * 转换为DTO并写入缓存，用户不存在时返回null
+     */
+    private UserDto cache(User user) {
+        if (user == null) {
+            return null;
+        }
+        UserDto dto = convertToDto(user);
+        userProfileCache.put(dto);
+        return dto;
     }
 
     /**
@@ -199,5 +420,7 @@ public class UserServiceImpl implements UserService {
         user.setRole(userDto.role());
         return user;
     }
-}
 
+    private record PendingUser(int index, User user) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.blog.service.support;
+
+import com.blog.mapper.ArticleMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 文章ID登记表
+ *
+ * 用位图记录现存的文章ID，供评论等写路径做存在性预检，避免为校验存在而读取整行文章。
+ * 位图命中直接放行，由外键约束兜底；未命中（可能是其他实例新建的文章）或加载完成前回退到按主键的EXISTS查询。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleIdRegistry {
+
+    /**
+     * 加载时每批读取的ID数
+     */
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final ArticleMapper articleMapper;
+
+    private final BitSet ids = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    /**
+     * 应用启动后在后台加载全部文章ID
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        try {
+            long loaded = 0;
+            Long afterId = 0L;
+            while (true) {
+                List<Long> batch = articleMapper.selectIdsAfter(afterId, LOAD_BATCH_SIZE);
+                lock.writeLock().lock();
+                try {
+                    batch.forEach(id -> {
+                        if (fits(id)) {
+                            ids.set(id.intValue());
+                        }
+                    });
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loaded += batch.size();
+                if (batch.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1);
+            }
+            ready = true;
+            log.info("文章ID登记表加载完成，文章数: {}, 耗时: {}ms", loaded, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("文章ID登记表加载失败，存在性校验将直接查询数据库", e);
+        }
+    }
+
+    /**
+     * 判断文章是否存在
+     */
+    public boolean exists(Long articleId) {
+        if (articleId == null || articleId <= 0) {
+            return false;
+        }
+        if (ready && fits(articleId)) {
+            lock.readLock().lock();
+            try {
+                if (ids.get(articleId.intValue())) {
+                    return true;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        boolean exists = articleMapper.existsById(articleId);
+        if (exists) {
+            register(articleId);
+        }
+        return exists;
+    }
+
+    /**
+     * 登记新建的文章
+     */
+    public void register(Long articleId) {
+        if (!fits(articleId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.set(articleId.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除已删除的文章
+     */
+    public void unregister(Long articleId) {
+        if (!fits(articleId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.clear(articleId.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean fits(Long id) {
+        return id != null && id > 0 && id < Integer.MAX_VALUE;
+    }
+}
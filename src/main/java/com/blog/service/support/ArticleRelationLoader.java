@@ -0,0 +1,88 @@
+package com.blog.service.support;
+
+import com.blog.dto.ArticleSummaryDto;
+import com.blog.dto.CategoryDto;
+import com.blog.dto.TagDto;
+import com.blog.entity.ArticleTag;
+import com.blog.entity.Category;
+import com.blog.entity.Tag;
+import com.blog.mapper.ArticleTagMapper;
+import com.blog.mapper.CategoryMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 文章关联数据批量加载器
+ *
+ * 为一页文章一次性加载分类和标签：分类一次按ID批量查询，标签一次关联查询，
+ * 查询次数与页大小无关。
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleRelationLoader {
+
+    private final CategoryMapper categoryMapper;
+    private final ArticleTagMapper articleTagMapper;
+
+    /**
+     * 返回填充了分类和标签的文章列表，顺序与输入一致
+     */
+    public List<ArticleSummaryDto> load(List<ArticleSummaryDto> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return articles;
+        }
+
+        Set<Long> categoryIds = articles.stream()
+                .map(ArticleSummaryDto::categoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, CategoryDto> categories = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            for (Category category : categoryMapper.selectBatchIds(categoryIds)) {
+                categories.put(category.getId(), convertToDto(category));
+            }
+        }
+
+        List<Long> articleIds = articles.stream().map(ArticleSummaryDto::id).collect(Collectors.toList());
+        Map<Long, List<TagDto>> tags = new HashMap<>();
+        for (ArticleTag relation : articleTagMapper.selectWithTagsByArticleIds(articleIds)) {
+            tags.computeIfAbsent(relation.getArticleId(), id -> new ArrayList<>())
+                    .add(convertToDto(relation.getTag()));
+        }
+
+        return articles.stream()
+                .map(article -> article.withRelations(
+                        categories.get(article.categoryId()),
+                        tags.getOrDefault(article.id(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private CategoryDto convertToDto(Category category) {
+        return new CategoryDto(
+                category.getId(),
+                category.getName(),
+                category.getDescription(),
+                category.getIcon(),
+                category.getCreateTime(),
+                category.getUpdateTime()
+        );
+    }
+
+    private TagDto convertToDto(Tag tag) {
+        return new TagDto(
+                tag.getId(),
+                tag.getName(),
+                tag.getColor(),
+                tag.getCreateTime(),
+                tag.getUpdateTime()
+        );
+    }
+}
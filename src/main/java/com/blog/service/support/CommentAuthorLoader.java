@@ -0,0 +1,63 @@
+package com.blog.service.support;
+
+import com.blog.cache.UserProfileCache;
+import com.blog.dto.CommentAuthorDto;
+import com.blog.dto.CommentDto;
+import com.blog.dto.UserDto;
+import com.blog.entity.User;
+import com.blog.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 评论作者批量加载器
+ *
+ * 为一页评论填充作者信息：先查用户资料缓存，未命中的用户一次按ID批量查询。
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentAuthorLoader {
+
+    private final UserMapper userMapper;
+    private final UserProfileCache userProfileCache;
+
+    /**
+     * 返回填充了作者信息的评论列表，顺序与输入一致
+     */
+    public List<CommentDto> load(List<CommentDto> comments) {
+        if (comments == null || comments.isEmpty()) {
+            return comments;
+        }
+        Set<Long> userIds = comments.stream()
+                .map(CommentDto::userId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, UserDto> users = userProfileCache.getAll(userIds, this::loadUsers);
+        return comments.stream()
+                .map(comment -> comment.withAuthor(toAuthor(users.get(comment.userId()))))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, UserDto> loadUsers(Set<Long> userIds) {
+        return userMapper.selectBatchIds(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> new UserDto(
+                        user.getId(),
+                        user.getUsername(),
+                        user.getEmail(),
+                        user.getAvatar(),
+                        user.getGithubId(),
+                        user.getRole(),
+                        user.getCreateTime(),
+                        user.getUpdateTime())));
+    }
+
+    private static CommentAuthorDto toAuthor(UserDto user) {
+        return user != null ? new CommentAuthorDto(user.id(), user.username(), user.avatar()) : null;
+    }
+}
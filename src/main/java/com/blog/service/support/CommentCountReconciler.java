@@ -0,0 +1,36 @@
+package com.blog.service.support;
+
+import com.blog.cache.ArticleCache;
+import com.blog.mapper.ArticleMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 文章评论数校对任务
+ *
+ * 评论数随评论的创建、审核和删除增量维护，定期按评论表重新统计一次，修正异常中断等原因造成的偏差。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentCountReconciler {
+
+    private final ArticleMapper articleMapper;
+    private final ArticleCache articleCache;
+
+    @Scheduled(cron = "${blog.comment-count.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            int repaired = articleMapper.reconcileCommentCounts();
+            if (repaired > 0) {
+                articleCache.evictAllArticles();
+                articleCache.evictPublishedPages();
+                log.warn("修正文章评论数偏差，文章数: {}", repaired);
+            }
+        } catch (Exception e) {
+            log.error("校对文章评论数失败", e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.blog.service.support;
+
+import com.blog.enums.CommentStatus;
+import com.blog.mapper.CommentMapper;
+import com.blog.util.TransactionUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 各状态评论数计数器
+ *
+ * 启动后用一条GROUP BY查询初始化，此后随评论的创建、审核和删除在事务提交后增量调整，读取不再访问数据库。
+ * 其他实例的写入和外键级联删除不会反映到本实例的计数中，由定时校对修正；初始化完成前或标记失效后读取回退到COUNT查询。
+ */
+@Component
+@Slf4j
+public class CommentStatusCounter {
+
+    private final CommentMapper commentMapper;
+    private final Map<CommentStatus, LongAdder> counters = new EnumMap<>(CommentStatus.class);
+    private volatile boolean ready;
+
+    public CommentStatusCounter(CommentMapper commentMapper, MeterRegistry meterRegistry) {
+        this.commentMapper = commentMapper;
+        for (CommentStatus status : CommentStatus.values()) {
+            LongAdder counter = new LongAdder();
+            counters.put(status, counter);
+            Gauge.builder("blog.comment.status.count", counter, LongAdder::sum)
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 应用启动后在后台初始化计数
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    /**
+     * 定时按评论表重新统计，修正增量维护的偏差
+     */
+    @Scheduled(initialDelayString = "${blog.comment-count.status-reconcile-interval:300000}",
+            fixedDelayString = "${blog.comment-count.status-reconcile-interval:300000}")
+    public void reconcile() {
+        try {
+            Map<CommentStatus, Long> actual = new EnumMap<>(CommentStatus.class);
+            for (Map<String, Object> row : commentMapper.countGroupByStatus()) {
+                actual.put(CommentStatus.valueOf(String.valueOf(row.get("status"))),
+                        ((Number) row.get("total")).longValue());
+            }
+            boolean wasReady = ready;
+            for (CommentStatus status : CommentStatus.values()) {
+                long expected = actual.getOrDefault(status, 0L);
+                LongAdder counter = counters.get(status);
+                long current = counter.sum();
+                if (current != expected) {
+                    // 统计查询之后提交的调整可能被覆盖，下一轮校对会再次修正
+                    counter.add(expected - current);
+                    if (wasReady) {
+                        log.warn("修正评论状态计数偏差，状态: {}, 计数: {}, 实际: {}", status, current, expected);
+                    }
+                }
+            }
+            ready = true;
+            log.debug("评论状态计数校对完成: {}", actual);
+        } catch (Exception e) {
+            log.error("统计各状态评论数失败", e);
+        }
+    }
+
+    /**
+     * 读取某状态的评论数
+     */
+    public long count(CommentStatus status) {
+        if (!ready) {
+            return commentMapper.countByStatus(status);
+        }
+        return Math.max(0, counters.get(status).sum());
+    }
+
+    /**
+     * 评论状态变化后调整计数，在当前事务提交后生效；状态为null表示评论不存在（新建前或删除后）
+     */
+    public void transition(CommentStatus previous, CommentStatus current) {
+        transition(previous, current, 1);
+    }
+
+    /**
+     * 批量评论由同一状态变为另一状态后调整计数
+     */
+    public void transition(CommentStatus previous, CommentStatus current, long count) {
+        if (previous == current || count == 0) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            if (previous != null) {
+                counters.get(previous).add(-count);
+            }
+            if (current != null) {
+                counters.get(current).add(count);
+            }
+        });
+    }
+
+    /**
+     * 批量删除等无法逐条调整的操作后，在事务提交后标记计数失效，下次校对前读取回退到数据库
+     */
+    public void invalidate() {
+        TransactionUtils.afterCommit(() -> ready = false);
+    }
+
+    /**
+     * 按状态汇总的评论数
+     */
+    public Map<CommentStatus, Long> snapshot() {
+        Map<CommentStatus, Long> snapshot = new EnumMap<>(CommentStatus.class);
+        for (CommentStatus status : CommentStatus.values()) {
+            snapshot.put(status, count(status));
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,192 @@
+package com.blog.service.support;
+
+import com.blog.dto.CommentDto;
+import com.blog.event.CommentApprovedEvent;
+import com.blog.util.SeekCursor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文章评论实时推送中心
+ *
+ * 每篇文章维护一组SSE订阅者，评论审核通过后推送给该文章的全部订阅者。连接基于Servlet异步支持，
+ * 空闲连接不占用Tomcat工作线程。每个订阅者有独立的有界发送缓冲，由少量发送线程写出，
+ * 缓冲写满说明客户端过慢，直接断开，由客户端自动重连。事件ID为评论的游标，
+ * 重连后可用它调用游标接口的after参数补齐断线期间的评论。
+ */
+@Component
+@Slf4j
+public class CommentStreamHub {
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender;
+    private final int clientBufferSize;
+    private final int maxConnections;
+    private final long timeoutMillis;
+
+    public CommentStreamHub(MeterRegistry meterRegistry,
+                            @Value("${blog.comment-stream.client-buffer-size:32}") int clientBufferSize,
+                            @Value("${blog.comment-stream.max-connections:10000}") int maxConnections,
+                            @Value("${blog.comment-stream.timeout:30m}") Duration timeout,
+                            @Value("${blog.comment-stream.sender-threads:2}") int senderThreads) {
+        this.clientBufferSize = clientBufferSize;
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "comment-stream-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("blog.comment.stream.connections", connections, AtomicInteger::get)
+                .description("评论推送连接数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 订阅文章的新评论，连接数已满时抛出IllegalStateException
+     */
+    public SseEmitter subscribe(Long articleId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("评论推送连接数已满");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(articleId, emitter, clientBufferSize);
+        subscribers.compute(articleId, (id, targets) -> {
+            Set<Subscriber> result = targets != null ? targets : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        // 立即发送一次心跳，让客户端确认连接已建立
+        enqueue(subscriber, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onCommentApproved(CommentApprovedEvent event) {
+        CommentDto comment = event.comment();
+        Set<Subscriber> targets = subscribers.get(comment.articleId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        String eventId = new SeekCursor(comment.createTime(), comment.id()).encode();
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, SseEmitter.event().id(eventId).name("comment").data(comment));
+        }
+    }
+
+    /**
+     * 定期向所有连接发送心跳，及时发现已断开的客户端并防止代理超时断开
+     */
+    @Scheduled(fixedDelayString = "${blog.comment-stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(targets ->
+                targets.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().comment("ping"))));
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(targets -> targets.forEach(subscriber -> subscriber.emitter().complete()));
+        sender.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.buffer().offer(event)) {
+            log.debug("评论推送客户端过慢，断开连接，文章ID: {}", subscriber.articleId());
+            unsubscribe(subscriber);
+            subscriber.emitter().complete();
+            return;
+        }
+        // 每个订阅者同一时刻只有一个发送任务，保证事件顺序
+        if (subscriber.sending().compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.buffer().poll()) != null) {
+                try {
+                    subscriber.emitter().send(event);
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(subscriber);
+                    subscriber.buffer().clear();
+                    break;
+                }
+            }
+            subscriber.sending().set(false);
+            // 释放标记后再检查一次，避免丢失并发入队的事件
+        } while (!subscriber.buffer().isEmpty() && subscriber.sending().compareAndSet(false, true));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        // 在compute中移除，保证与订阅时的加入互斥，不会误删刚加入的订阅者
+        subscribers.computeIfPresent(subscriber.articleId(), (id, targets) -> {
+            if (targets.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
+    /**
+     * 订阅者，按对象身份区分
+     */
+    private static final class Subscriber {
+
+        private final Long articleId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        Subscriber(Long articleId, SseEmitter emitter, int bufferSize) {
+            this.articleId = articleId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        Long articleId() {
+            return articleId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        Queue<SseEmitter.SseEventBuilder> buffer() {
+            return buffer;
+        }
+
+        AtomicBoolean sending() {
+            return sending;
+        }
+    }
+}
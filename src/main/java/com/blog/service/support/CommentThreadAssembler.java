@@ -0,0 +1,101 @@
+package com.blog.service.support;
+
+import com.blog.dto.CommentDto;
+import com.blog.dto.CommentThreadDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 评论楼层组装器
+ *
+ * 输入按物化路径排序的子树评论（父评论总在子评论之前），一次遍历组装成树。
+ * 展示深度和每条评论展示的回复数受配置限制，超出部分只计数并标记moreReplies。
+ */
+@Component
+public class CommentThreadAssembler {
+
+    private final int maxDepth;
+    private final int maxReplies;
+    private final int maxNodes;
+
+    public CommentThreadAssembler(@Value("${blog.comment-thread.max-depth:5}") int maxDepth,
+                                  @Value("${blog.comment-thread.max-replies:50}") int maxReplies,
+                                  @Value("${blog.comment-thread.max-nodes:1000}") int maxNodes) {
+        this.maxDepth = maxDepth;
+        this.maxReplies = maxReplies;
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * 展示的最大相对深度，查询时多取一层用于判断是否还有更深的回复
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * 单次加载的最大评论数
+     */
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * 组装楼层，第一条评论为根
+     *
+     * @param comments  按路径排序的子树评论
+     * @param depths    评论ID -> 存储深度
+     * @param truncated 查询是否因总数限制被截断
+     */
+    public CommentThreadDto assemble(List<CommentDto> comments, Map<Long, Integer> depths, boolean truncated) {
+        CommentDto root = comments.get(0);
+        int rootDepth = depths.get(root.id());
+        Map<Long, Node> nodes = new HashMap<>();
+        Node rootNode = new Node(root);
+        nodes.put(root.id(), rootNode);
+
+        for (CommentDto comment : comments.subList(1, comments.size())) {
+            // 父评论未展示（未通过审核、被删除或被限制省略）时整条分支都不展示
+            Node parent = nodes.get(comment.parentId());
+            if (parent == null) {
+                continue;
+            }
+            parent.replyCount++;
+            if (depths.get(comment.id()) - rootDepth > maxDepth || parent.replies.size() >= maxReplies) {
+                parent.moreReplies = true;
+                continue;
+            }
+            Node node = new Node(comment);
+            parent.replies.add(node);
+            nodes.put(comment.id(), node);
+        }
+        if (truncated) {
+            // 被截断的只可能是路径序最靠后的分支，简单起见标记在根上
+            rootNode.moreReplies = true;
+        }
+        return rootNode.toDto();
+    }
+
+    private static final class Node {
+
+        private final CommentDto comment;
+        private final List<Node> replies = new ArrayList<>();
+        private int replyCount;
+        private boolean moreReplies;
+
+        Node(CommentDto comment) {
+            this.comment = comment;
+        }
+
+        CommentThreadDto toDto() {
+            return new CommentThreadDto(comment, replyCount, moreReplies,
+                    replies.stream().map(Node::toDto).collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.blog.service.support;
+
+import com.blog.cache.LocalCache;
+import com.blog.entity.Article;
+import com.blog.util.HashUtils;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Markdown渲染器
+ *
+ * 文章写入时把Markdown渲染为HTML并与内容哈希一起落库；原始HTML会被转义、
+ * 不安全的链接协议会被过滤。尚未回填HTML的历史数据按内容哈希渲染并缓存在本地。
+ */
+@Component
+public class MarkdownRenderer {
+
+    private final Parser parser = Parser.builder().build();
+
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+
+    private final LocalCache<String, String> renderedByHash = new LocalCache<>(500, Duration.ofHours(1));
+
+    /**
+     * 渲染文章内容并写入实体的contentHtml和contentHash，内容未变化时跳过
+     */
+    public void renderInto(Article article) {
+        String hash = HashUtils.sha256Hex(article.getContent());
+        if (hash.equals(article.getContentHash()) && article.getContentHtml() != null) {
+            return;
+        }
+        article.setContentHash(hash);
+        article.setContentHtml(render(article.getContent()));
+    }
+
+    /**
+     * 补全实体的HTML，历史数据没有落库HTML时现场渲染并按内容哈希缓存
+     */
+    public void ensureRendered(Article article) {
+        if (article.getContentHtml() != null && article.getContentHash() != null) {
+            return;
+        }
+        String hash = HashUtils.sha256Hex(article.getContent());
+        String html = renderedByHash.get(hash);
+        if (html == null) {
+            html = render(article.getContent());
+            renderedByHash.put(hash, html);
+        }
+        article.setContentHash(hash);
+        article.setContentHtml(html);
+    }
+
+    public String render(String markdown) {
+        return renderer.render(parser.parse(Objects.requireNonNullElse(markdown, "")));
+    }
+}
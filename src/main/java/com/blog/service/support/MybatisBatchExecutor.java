@@ -0,0 +1,39 @@
+package com.blog.service.support;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * MyBatis批量执行器
+ *
+ * 通过BATCH类型的SqlSession执行Mapper语句，语句在flush时以JDBC批处理一次性发送；
+ * 配合连接参数rewriteBatchedStatements=true，同一条INSERT会被改写为多值插入。
+ * 必须在事务中调用，且同一事务中不能再使用普通Mapper（MyBatis不允许同一事务切换执行器类型）。
+ */
+@Component
+public class MybatisBatchExecutor {
+
+    private final SqlSessionTemplate batchSqlSession;
+
+    public MybatisBatchExecutor(SqlSessionFactory sqlSessionFactory) {
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
+
+    /**
+     * 以批处理方式执行Mapper语句并立即flush，自增主键会在返回前回填到实体中
+     */
+    public <M> List<BatchResult> execute(Class<M> mapperType, Consumer<M> statements) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("批量执行必须在事务中进行");
+        }
+        statements.accept(batchSqlSession.getMapper(mapperType));
+        return batchSqlSession.flushStatements();
+    }
+}
@@ -0,0 +1,216 @@
+package com.blog.service.support;
+
+import com.blog.entity.Article;
+import com.blog.enums.RankingWindow;
+import com.blog.mapper.ArticleMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热门文章排行榜
+ *
+ * 全部时间的访问量以数据库中的view_count为初始值，之后随访问量落库累加；
+ * 最近24小时和7天的访问量按小时分桶累计。定时任务用有界小顶堆计算各窗口的前K名，
+ * 读取排行榜只需截取预先排好的数组。
+ *
+ * 分时窗口只统计本实例记录的访问，全部时间的排行会定期从数据库重新加载以合并其他实例的访问量。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PopularArticleRanking {
+
+    /**
+     * 每个窗口保留的排名数
+     */
+    public static final int MAX_RANK_SIZE = 100;
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final int BUCKET_COUNT = RankingWindow.WEEK.getHours();
+
+    private final ArticleMapper articleMapper;
+
+    /**
+     * 已发布文章的累计访问量
+     */
+    private volatile ConcurrentHashMap<Long, LongAdder> totals = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(BUCKET_COUNT);
+    private volatile Map<RankingWindow, long[]> leaderboards = Collections.emptyMap();
+    private volatile boolean ready;
+
+    /**
+     * 从数据库加载已发布文章的访问量
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${blog.ranking.reload-interval:600000}",
+            fixedDelayString = "${blog.ranking.reload-interval:600000}")
+    public void reload() {
+        try {
+            List<Article> articles = articleMapper.selectPublishedViewCounts();
+            ConcurrentHashMap<Long, LongAdder> loaded = new ConcurrentHashMap<>(articles.size() * 2);
+            for (Article article : articles) {
+                LongAdder adder = new LongAdder();
+                adder.add(article.getViewCount() != null ? article.getViewCount() : 0L);
+                loaded.put(article.getId(), adder);
+            }
+            totals = loaded;
+            ready = true;
+            refresh();
+            log.debug("热门文章排行榜加载完成，文章数: {}", loaded.size());
+        } catch (Exception e) {
+            log.error("加载热门文章排行榜失败", e);
+        }
+    }
+
+    /**
+     * 重新计算各窗口的排行榜
+     */
+    @Scheduled(fixedDelayString = "${blog.ranking.refresh-interval:30000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        long currentHour = System.currentTimeMillis() / HOUR_MILLIS;
+        Map<RankingWindow, long[]> computed = new EnumMap<>(RankingWindow.class);
+        for (RankingWindow window : RankingWindow.values()) {
+            Map<Long, Long> counts = window == RankingWindow.ALL
+                    ? snapshotTotals()
+                    : sumBuckets(currentHour, window.getHours());
+            computed.put(window, topK(counts));
+        }
+        leaderboards = computed;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 累加已落库的访问量
+     */
+    public void record(Map<Long, Long> deltas) {
+        long currentHour = System.currentTimeMillis() / HOUR_MILLIS;
+        Bucket bucket = currentBucket(currentHour);
+        ConcurrentHashMap<Long, LongAdder> current = totals;
+        deltas.forEach((articleId, delta) -> {
+            LongAdder total = current.get(articleId);
+            if (total == null) {
+                // 未发布的文章不参与排行
+                return;
+            }
+            total.add(delta);
+            bucket.counts.computeIfAbsent(articleId, id -> new LongAdder()).add(delta);
+        });
+    }
+
+    /**
+     * 文章发布后加入排行
+     */
+    public void track(Long articleId, long viewCount) {
+        LongAdder adder = new LongAdder();
+        adder.add(viewCount);
+        totals.putIfAbsent(articleId, adder);
+    }
+
+    /**
+     * 文章下线或删除后移出排行
+     */
+    public void untrack(Long articleId) {
+        totals.remove(articleId);
+    }
+
+    /**
+     * 获取排行榜前limit名的文章ID
+     */
+    public long[] top(RankingWindow window, int limit) {
+        long[] ranked = leaderboards.get(window);
+        if (ranked == null) {
+            return new long[0];
+        }
+        return Arrays.copyOf(ranked, Math.min(Math.max(limit, 0), ranked.length));
+    }
+
+    private Bucket currentBucket(long hour) {
+        int index = (int) (hour % BUCKET_COUNT);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.hour == hour) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(hour);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private Map<Long, Long> snapshotTotals() {
+        Map<Long, Long> counts = new HashMap<>();
+        totals.forEach((articleId, adder) -> counts.put(articleId, adder.sum()));
+        return counts;
+    }
+
+    private Map<Long, Long> sumBuckets(long currentHour, int hours) {
+        ConcurrentHashMap<Long, LongAdder> published = totals;
+        Map<Long, Long> counts = new HashMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket == null || bucket.hour <= currentHour - hours || bucket.hour > currentHour) {
+                continue;
+            }
+            bucket.counts.forEach((articleId, adder) -> {
+                if (published.containsKey(articleId)) {
+                    counts.merge(articleId, adder.sum(), Long::sum);
+                }
+            });
+        }
+        return counts;
+    }
+
+    /**
+     * 用有界小顶堆选出访问量最高的前K篇文章，按访问量降序返回
+     */
+    private static long[] topK(Map<Long, Long> counts) {
+        PriorityQueue<Map.Entry<Long, Long>> heap = new PriorityQueue<>(MAX_RANK_SIZE + 1,
+                Map.Entry.<Long, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+            if (entry.getValue() <= 0 && heap.size() >= MAX_RANK_SIZE) {
+                continue;
+            }
+            heap.offer(entry);
+            if (heap.size() > MAX_RANK_SIZE) {
+                heap.poll();
+            }
+        }
+        long[] ranked = new long[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = heap.poll().getKey();
+        }
+        return ranked;
+    }
+
+    private static final class Bucket {
+
+        private final long hour;
+        private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+
+        Bucket(long hour) {
+            this.hour = hour;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.blog.service.support;
+
+import com.blog.cache.ArticleCache;
+import com.blog.mapper.ArticleMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章访问量写缓冲
+ *
+ * 访问量先累加在内存中的分段计数器（LongAdder）里，由定时任务批量合并写入数据库，
+ * 避免热门文章在每次访问时都争抢同一行的行锁。应用正常关闭时会把剩余增量全部落库。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountBuffer {
+
+    /**
+     * 单条批量UPDATE语句最多包含的文章数
+     */
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final ArticleMapper articleMapper;
+    private final ArticleCache articleCache;
+    private final PopularArticleRanking popularArticleRanking;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 已从计数器取出、正在写库的增量，写库完成前仍计入读路径
+     */
+    private volatile Map<Long, Long> inFlight = Collections.emptyMap();
+
+    /**
+     * 记录一次访问
+     */
+    public void increment(Long articleId) {
+        add(articleId, 1L);
+    }
+
+    /**
+     * 累加访问量增量
+     */
+    public void add(Long articleId, long delta) {
+        if (articleId == null || delta <= 0) {
+            return;
+        }
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * 获取尚未落库的访问量增量
+     */
+    public long getPendingCount(Long articleId) {
+        if (articleId == null) {
+            return 0L;
+        }
+        LongAdder adder = pending.get(articleId);
+        long buffered = adder != null ? adder.sum() : 0L;
+        return buffered + inFlight.getOrDefault(articleId, 0L);
+    }
+
+    /**
+     * 将缓冲的访问量批量写入数据库
+     */
+    @Scheduled(fixedDelayString = "${blog.view-count.flush-interval:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        inFlight = deltas;
+        try {
+            List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+            for (int from = 0; from < entries.size(); from += FLUSH_BATCH_SIZE) {
+                int to = Math.min(from + FLUSH_BATCH_SIZE, entries.size());
+                Map<Long, Long> batch = new LinkedHashMap<>();
+                entries.subList(from, to).forEach(e -> batch.put(e.getKey(), e.getValue()));
+                try {
+                    articleMapper.batchIncrementViewCount(batch);
+                    // 详情和列表缓存不随访问量失效，只累加单独缓存的访问量
+                    articleCache.addViewCounts(batch);
+                    popularArticleRanking.record(batch);
+                } catch (Exception e) {
+                    // 写库失败时把增量放回计数器，等待下次重试
+                    log.error("批量写入文章访问量失败，文章数: {}", batch.size(), e);
+                    batch.forEach(this::add);
+                }
+            }
+            log.debug("批量写入文章访问量完成，文章数: {}", deltas.size());
+        } finally {
+            inFlight = Collections.emptyMap();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("应用关闭，写入剩余的文章访问量");
+        flush();
+    }
+
+    /**
+     * 取出所有计数器的当前值并清零
+     *
+     * 连续一个刷新周期没有访问的计数器会被移除，避免无效文章ID长期占用内存；
+     * 与移除同时发生的极少数访问可能丢失，这对访问量统计是可以接受的。
+     */
+    private Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((articleId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(articleId, delta);
+            } else {
+                pending.remove(articleId, adder);
+            }
+        });
+        return deltas;
+    }
+}
@@ -0,0 +1,144 @@
+package com.blog.service.support;
+
+import com.blog.cache.LocalCache;
+import com.blog.util.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 文章访问事件追踪
+ *
+ * 请求线程只把访问事件放入有界无锁队列，由后台线程批量取出：同一访客在去重窗口内
+ * 重复访问同一文章只计一次，同一文章的多次访问合并后再写入访问量缓冲。
+ * 队列满时直接丢弃事件并计数，不阻塞请求线程；丢弃数可通过actuator的
+ * blog.view.events指标（result=dropped）查看。
+ */
+@Component
+@Slf4j
+public class ViewEventTracker {
+
+    /**
+     * 后台线程每轮最多处理的事件数
+     */
+    private static final int DRAIN_BATCH_SIZE = 1024;
+
+    /**
+     * 队列为空时后台线程的休眠时间
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final ViewCountBuffer viewCountBuffer;
+    private final MpscRingBuffer<ViewEvent> queue;
+    private final LocalCache<String, Boolean> recentVisits;
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter deduplicated;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    public ViewEventTracker(ViewCountBuffer viewCountBuffer,
+                            MeterRegistry meterRegistry,
+                            @Value("${blog.view-tracking.queue-capacity:8192}") int queueCapacity,
+                            @Value("${blog.view-tracking.dedupe-window:30m}") Duration dedupeWindow,
+                            @Value("${blog.view-tracking.dedupe-max-size:100000}") int dedupeMaxSize) {
+        this.viewCountBuffer = viewCountBuffer;
+        this.queue = new MpscRingBuffer<>(queueCapacity);
+        this.recentVisits = new LocalCache<>(dedupeMaxSize, dedupeWindow);
+        this.accepted = eventCounter(meterRegistry, "accepted");
+        this.dropped = eventCounter(meterRegistry, "dropped");
+        this.deduplicated = eventCounter(meterRegistry, "deduplicated");
+        Gauge.builder("blog.view.queue.size", queue, MpscRingBuffer::size)
+                .description("待处理的访问事件数")
+                .register(meterRegistry);
+        this.worker = new Thread(this::run, "view-event-tracker");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * 发布一次访问，队列已满时丢弃并返回false
+     *
+     * @param visitor 访客标识，为空时不做去重
+     */
+    public boolean publish(Long articleId, String visitor) {
+        if (articleId == null) {
+            return false;
+        }
+        if (!queue.offer(new ViewEvent(articleId, visitor))) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * 停止后台线程并处理队列中剩余的事件，随后由访问量缓冲在关闭时落库
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        if (!worker.isAlive()) {
+            while (drainOnce() > 0) {
+                // 处理剩余事件
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (drainOnce() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (Exception e) {
+                log.error("处理访问事件失败", e);
+            }
+        }
+    }
+
+    private int drainOnce() {
+        Map<Long, Long> deltas = new HashMap<>();
+        int drained = queue.drain(event -> {
+            if (event.visitor() != null) {
+                String key = event.articleId() + ":" + event.visitor();
+                if (recentVisits.get(key) != null) {
+                    deduplicated.increment();
+                    return;
+                }
+                recentVisits.put(key, Boolean.TRUE);
+            }
+            accepted.increment();
+            deltas.merge(event.articleId(), 1L, Long::sum);
+        }, DRAIN_BATCH_SIZE);
+        deltas.forEach(viewCountBuffer::add);
+        return drained;
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("blog.view.events")
+                .description("文章访问事件数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record ViewEvent(Long articleId, String visitor) {}
+}
@@ -0,0 +1,27 @@
+package com.blog.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 哈希工具类
+ */
+public final class HashUtils {
+
+    private HashUtils() {
+    }
+
+    /**
+     * 计算字符串UTF-8编码的SHA-256，返回64位小写十六进制
+     */
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+}
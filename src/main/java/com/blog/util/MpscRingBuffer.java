@@ -0,0 +1,107 @@
+package com.blog.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * 有界无锁多生产者单消费者环形队列
+ *
+ * 每个槽位带一个序号：生产者通过CAS抢占写指针后写入元素并发布序号，
+ * 消费者根据序号判断槽位是否可读。队列满时offer立即返回false，不会阻塞调用方。
+ * poll和drain只能由同一个消费者线程调用。
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 读指针，只由消费者线程写入
+     */
+    private volatile long head;
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("队列容量必须在2到2^30之间: " + capacity);
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.elements = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.setPlain(i, i);
+        }
+    }
+
+    /**
+     * 入队，队列已满时返回false
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("元素不能为空");
+        }
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.getAcquire(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.setPlain(index, element);
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // 槽位还未被消费者释放，说明队列已满
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * 出队，队列为空时返回null
+     */
+    public E poll() {
+        long position = head;
+        int index = (int) position & mask;
+        if (sequences.getAcquire(index) != position + 1) {
+            return null;
+        }
+        E element = elements.getPlain(index);
+        elements.setPlain(index, null);
+        sequences.setRelease(index, position + capacity);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * 批量出队，最多取出limit个元素，返回实际取出的数量
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int drained = 0;
+        E element;
+        while (drained < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 当前元素数的近似值
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
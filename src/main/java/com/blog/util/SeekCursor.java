@@ -0,0 +1,50 @@
+package com.blog.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页位置
+ *
+ * 记录上一页最后一条记录的 (create_time, id)，对外编码为不透明的URL安全字符串。
+ */
+public record SeekCursor(LocalDateTime createTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public SeekCursor {
+        if (createTime == null || id == null) {
+            throw new IllegalArgumentException("游标不完整");
+        }
+    }
+
+    /**
+     * 编码为游标字符串
+     */
+    public String encode() {
+        String raw = createTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串，为空时返回null
+     */
+    public static SeekCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new IllegalArgumentException("无效的游标: " + cursor);
+            }
+            return new SeekCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.valueOf(raw.substring(index + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标: " + cursor, e);
+        }
+    }
+}
@@ -1,3 +1,4 @@
+-- 新库初始化脚本，已有数据库不要重复执行，按顺序执行 db/upgrade 下的升级脚本
 -- 创建数据库
 CREATE DATABASE IF NOT EXISTS blog_db CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
 
@@ -39,12 +40,15 @@ CREATE TABLE IF NOT EXISTS articles (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     title VARCHAR(200) NOT NULL COMMENT '文章标题',
     content LONGTEXT NOT NULL COMMENT '文章内容',
+    content_html LONGTEXT COMMENT '渲染后的文章HTML',
+    content_hash CHAR(64) COMMENT '文章内容SHA-256',
     summary VARCHAR(500) COMMENT '文章摘要',
     author VARCHAR(50) NOT NULL COMMENT '作者',
     status ENUM('DRAFT', 'PUBLISHED', 'ARCHIVED') DEFAULT 'DRAFT' COMMENT '文章状态',
     category_id BIGINT COMMENT '分类ID',
     cover_image VARCHAR(255) COMMENT '封面图片URL',
     view_count INT DEFAULT 0 COMMENT '浏览次数',
+    comment_count INT NOT NULL DEFAULT 0 COMMENT '已批准评论数',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL
@@ -66,10 +70,13 @@ CREATE TABLE IF NOT EXISTS comments (
     user_id BIGINT NOT NULL COMMENT '用户ID',
     content TEXT NOT NULL COMMENT '评论内容',
     status ENUM('PENDING', 'APPROVED', 'REJECTED') DEFAULT 'PENDING' COMMENT '评论状态',
+    parent_id BIGINT COMMENT '父评论ID，顶层评论为空',
+    path VARCHAR(255) CHARACTER SET ascii NOT NULL DEFAULT '/' COMMENT '祖先路径，由各级祖先评论ID补零到12位后以/拼接，顶层评论为/',
+    depth INT NOT NULL DEFAULT 0 COMMENT '回复层级，顶层评论为0',
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
-    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+    CONSTRAINT fk_comments_article FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='评论表';
 
 -- 创建访问统计表
@@ -87,8 +94,11 @@ CREATE INDEX idx_articles_status ON articles(status);
 CREATE INDEX idx_articles_category_id ON articles(category_id);
 CREATE INDEX idx_articles_create_time ON articles(create_time);
 CREATE INDEX idx_articles_view_count ON articles(view_count);
-CREATE INDEX idx_comments_article_id ON comments(article_id);
+CREATE INDEX idx_articles_status_create_time_id ON articles(status, create_time, id);
+CREATE INDEX idx_comments_article_status_create_time_id ON comments(article_id, status, create_time, id);
 CREATE INDEX idx_comments_status ON comments(status);
+CREATE INDEX idx_comments_user_create_time_id ON comments(user_id, create_time, id);
+CREATE INDEX idx_comments_path ON comments(path);
 CREATE INDEX idx_visitor_stats_create_time ON visitor_stats(create_time);
 CREATE INDEX idx_visitor_stats_ip_address ON visitor_stats(ip_address);
 
@@ -0,0 +1,10 @@
+-- 已有数据库升级：文章预渲染HTML
+-- init.sql只对新库建表，已有数据库按文件编号顺序执行本目录下的升级脚本，每个脚本只执行一次
+
+USE blog_db;
+
+ALTER TABLE articles
+    ADD COLUMN content_html LONGTEXT COMMENT '渲染后的文章HTML' AFTER content,
+    ADD COLUMN content_hash CHAR(64) COMMENT '文章内容SHA-256' AFTER content_html;
+
+-- 已有文章无需回填：读取时现场渲染并按内容哈希缓存，下次保存文章时落库
@@ -0,0 +1,14 @@
+-- 已有数据库升级：文章已批准评论数
+-- init.sql只对新库建表，已有数据库按文件编号顺序执行本目录下的升级脚本，每个脚本只执行一次
+
+USE blog_db;
+
+ALTER TABLE articles
+    ADD COLUMN comment_count INT NOT NULL DEFAULT 0 COMMENT '已批准评论数' AFTER view_count;
+
+-- 按现有评论回填，不改动文章的更新时间
+UPDATE articles a
+LEFT JOIN (
+    SELECT article_id, COUNT(*) AS approved FROM comments WHERE status = 'APPROVED' GROUP BY article_id
+) c ON c.article_id = a.id
+SET a.update_time = a.update_time, a.comment_count = COALESCE(c.approved, 0);
@@ -0,0 +1,12 @@
+-- 已有数据库升级：评论楼层
+-- init.sql只对新库建表，已有数据库按文件编号顺序执行本目录下的升级脚本，每个脚本只执行一次
+
+USE blog_db;
+
+-- 已有评论都是顶层评论，path默认值/和depth默认值0即是它们的楼层信息，无需回填
+ALTER TABLE comments
+    ADD COLUMN parent_id BIGINT COMMENT '父评论ID，顶层评论为空' AFTER status,
+    ADD COLUMN path VARCHAR(255) CHARACTER SET ascii NOT NULL DEFAULT '/' COMMENT '祖先路径，由各级祖先评论ID补零到12位后以/拼接，顶层评论为/' AFTER parent_id,
+    ADD COLUMN depth INT NOT NULL DEFAULT 0 COMMENT '回复层级，顶层评论为0' AFTER path;
+
+CREATE INDEX idx_comments_path ON comments(path);
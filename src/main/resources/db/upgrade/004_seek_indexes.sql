@@ -0,0 +1,14 @@
+-- 已有数据库升级：游标分页索引
+-- init.sql只对新库建表，已有数据库按文件编号顺序执行本目录下的升级脚本，每个脚本只执行一次
+
+USE blog_db;
+
+-- 已发布文章按(create_time, id)游标分页
+CREATE INDEX idx_articles_status_create_time_id ON articles(status, create_time, id);
+
+-- 文章评论按(create_time, id)游标分页，article_id为最左列，可以替代原有索引支撑外键
+CREATE INDEX idx_comments_article_status_create_time_id ON comments(article_id, status, create_time, id);
+DROP INDEX idx_comments_article_id ON comments;
+
+-- 用户评论按(create_time, id)游标分页
+CREATE INDEX idx_comments_user_create_time_id ON comments(user_id, create_time, id);
@@ -0,0 +1,14 @@
+-- 已有数据库升级：评论外键命名
+-- init.sql只对新库建表，已有数据库按文件编号顺序执行本目录下的升级脚本，每个脚本只执行一次
+
+USE blog_db;
+
+-- 原外键未命名，由MySQL按定义顺序自动命名为comments_ibfk_1(article_id)和comments_ibfk_2(user_id)，
+-- 执行前可用 SHOW CREATE TABLE comments 确认；评论服务按约束名区分文章和用户不存在
+ALTER TABLE comments
+    DROP FOREIGN KEY comments_ibfk_1,
+    DROP FOREIGN KEY comments_ibfk_2;
+
+ALTER TABLE comments
+    ADD CONSTRAINT fk_comments_article FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
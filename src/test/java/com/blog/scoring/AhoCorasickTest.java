@@ -0,0 +1,59 @@
+package com.blog.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AhoCorasick测试
+ */
+class AhoCorasickTest {
+
+    @Test
+    void findsOverlappingAndNestedPatterns() {
+        AhoCorasick automaton = new AhoCorasick(List.of("he", "she", "his", "hers"));
+
+        assertEquals(Set.of("she", "he", "hers"), automaton.findAll("ushers"));
+        assertEquals(Set.of("his"), automaton.findAll("this"));
+    }
+
+    @Test
+    void findsSuffixPatternsThroughFailureLinks() {
+        AhoCorasick automaton = new AhoCorasick(List.of("abcd", "bc", "c"));
+
+        // abcd匹配失败后经失败链回到bc，bc和c都以同一字符结尾
+        assertEquals(Set.of("bc", "c"), automaton.findAll("abce"));
+        assertEquals(Set.of("bc", "c", "abcd"), automaton.findAll("xabcd"));
+    }
+
+    @Test
+    void findsRepeatedAndSelfOverlappingPatterns() {
+        AhoCorasick automaton = new AhoCorasick(List.of("aa", "aaa"));
+
+        assertEquals(Set.of("aa"), automaton.findAll("baab"));
+        assertEquals(Set.of("aa", "aaa"), automaton.findAll("aaaa"));
+    }
+
+    @Test
+    void matchesCjkPatternsInsideText() {
+        AhoCorasick automaton = new AhoCorasick(List.of("代开发票", "发票", "博彩"));
+
+        assertEquals(Set.of("代开发票", "发票"), automaton.findAll("专业代开发票，联系我"));
+        assertEquals(Set.of("博彩"), automaton.findAll("线上博彩网站"));
+    }
+
+    @Test
+    void ignoresCaseAndBlankKeywordsAndKeepsFirstOccurrenceOrder() {
+        AhoCorasick automaton = new AhoCorasick(Arrays.asList("Spam", " ", null, "casino", "SPAM"));
+
+        assertEquals(List.of("casino", "spam"), List.copyOf(automaton.findAll("CASINO and sPaM, more spam")));
+        assertTrue(automaton.findAll("").isEmpty());
+        assertTrue(automaton.findAll(null).isEmpty());
+        assertTrue(new AhoCorasick(List.of(" ")).isEmpty());
+    }
+}
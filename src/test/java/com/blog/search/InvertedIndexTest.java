@@ -0,0 +1,123 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * InvertedIndex测试
+ */
+class InvertedIndexTest {
+
+    @Test
+    void ranksByBm25() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "notes", "redis cache tips and other notes");
+        index.add(2, "notes", "redis redis redis cache cache cache");
+        index.add(3, "notes", "postgres tuning guide");
+
+        // 词频更高的文档排在前面，不含查询词的文档不命中
+        assertEquals(List.of(2L, 1L), index.search("redis", 0, 10).articleIds());
+    }
+
+    @Test
+    void prefersRareTermsAndShorterDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "a", "common common rare");
+        index.add(2, "b", "common rare rare");
+        index.add(3, "c", "common");
+        index.add(4, "d", "common");
+        assertEquals(List.of(2L, 1L), index.search("common rare", 0, 10).articleIds());
+
+        InvertedIndex lengths = new InvertedIndex();
+        lengths.add(1, "x", "kafka " + "filler ".repeat(50));
+        lengths.add(2, "x", "kafka");
+        lengths.add(3, "x", "other");
+        assertEquals(List.of(2L, 1L), lengths.search("kafka", 0, 10).articleIds());
+    }
+
+    @Test
+    void boostsTitleMatches() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "misc", "spring boot");
+        index.add(2, "spring", "boot");
+
+        assertEquals(List.of(2L, 1L), index.search("spring", 0, 10).articleIds());
+    }
+
+    @Test
+    void requiresEveryQueryTerm() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "t", "mysql index design");
+        index.add(2, "t", "mysql replication");
+
+        assertEquals(List.of(1L), index.search("mysql index", 0, 10).articleIds());
+        assertEquals(0, index.search("mysql sharding", 0, 10).total());
+    }
+
+    @Test
+    void recallsCjkByBigramsAndSingleCharacters() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "数据库优化", "索引和查询计划");
+        index.add(2, "数据结构", "链表和仓库");
+        index.add(3, "读书笔记", "书库");
+
+        // 多字查询按相邻两字的二元词匹配，数据和库分开出现的文章不命中
+        assertEquals(List.of(1L), index.search("数据库", 0, 10).articleIds());
+        assertEquals(2, index.search("数据", 0, 10).total());
+        // 单字查询按一元词匹配词语中的字
+        assertEquals(3, index.search("库", 0, 10).total());
+        assertEquals(List.of(1L), index.search("查询", 0, 10).articleIds());
+        assertEquals(0, index.search("据结库", 0, 10).total());
+    }
+
+    @Test
+    void recallsWordsByPrefix() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "t", "javascript closures");
+        index.add(2, "t", "java generics");
+        index.add(3, "t", "kotlin coroutines");
+
+        assertEquals(2, index.search("java", 0, 10).total());
+        assertEquals(List.of(1L), index.search("javas", 0, 10).articleIds());
+        assertEquals(List.of(2L), index.search("Gen", 0, 10).articleIds());
+        assertEquals(0, index.search("javax", 0, 10).total());
+    }
+
+    @Test
+    void replacesAndRemovesDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1, "t", "elasticsearch");
+        index.add(2, "t", "elasticsearch");
+        index.add(1, "t", "lucene");
+        index.remove(2);
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.search("elasticsearch", 0, 10).total());
+        assertEquals(List.of(1L), index.search("lucene", 0, 10).articleIds());
+
+        // 删除后复用的文档号不能带上旧文档的词项
+        index.add(3, "t", "solr");
+        assertEquals(List.of(3L), index.search("solr", 0, 10).articleIds());
+        assertEquals(0, index.search("elasticsearch", 0, 10).total());
+    }
+
+    @Test
+    void pagesResultsAndReportsTotal() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 5; id++) {
+            index.add(id, "t", "docker");
+        }
+
+        // 分数相同时按文章ID降序
+        SearchHits first = index.search("docker", 0, 2);
+        assertEquals(5, first.total());
+        assertEquals(List.of(5L, 4L), first.articleIds());
+        assertEquals(List.of(1L), index.search("docker", 4, 2).articleIds());
+        assertTrue(index.search("docker", 10, 2).articleIds().isEmpty());
+        assertTrue(index.search("   ", 0, 10).articleIds().isEmpty());
+    }
+}
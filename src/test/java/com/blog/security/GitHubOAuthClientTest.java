@@ -0,0 +1,119 @@
+package com.blog.security;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GitHubOAuthClient测试，GitHub的授权和API接口由本地HttpServer桩服务模拟
+ */
+class GitHubOAuthClientTest {
+
+    private static final String ACCESS_TOKEN = "gho_test";
+
+    private HttpServer server;
+    private GitHubOAuthClient client;
+
+    /**
+     * /user 返回的用户资料，各用例按需替换
+     */
+    private volatile String userJson;
+    private volatile String emailsJson;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/login/oauth/access_token", exchange -> {
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (!form.contains("client_id=id") || !form.contains("client_secret=secret")) {
+                respond(exchange, 401, "{}");
+            } else if (form.contains("code=good")) {
+                respond(exchange, 200, "{\"access_token\":\"" + ACCESS_TOKEN + "\",\"token_type\":\"bearer\"}");
+            } else {
+                // 与GitHub一致，授权码错误时仍返回200
+                respond(exchange, 200, "{\"error\":\"bad_verification_code\","
+                        + "\"error_description\":\"The code passed is incorrect or expired.\"}");
+            }
+        });
+        server.createContext("/user", exchange -> {
+            if (!("Bearer " + ACCESS_TOKEN).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                respond(exchange, 401, "{}");
+            } else if (exchange.getRequestURI().getPath().equals("/user/emails")) {
+                respond(exchange, emailsJson != null ? 200 : 404, emailsJson != null ? emailsJson : "{}");
+            } else {
+                respond(exchange, 200, userJson);
+            }
+        });
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = new GitHubOAuthClient(RestClient.builder(), "id", "secret", "",
+                baseUrl, baseUrl, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchUserWithPublicEmail() {
+        userJson = "{\"id\":42,\"login\":\"octo\",\"email\":\"octo@example.com\",\"avatar_url\":\"http://a/octo.png\"}";
+
+        GitHubOAuthClient.GitHubUser user = client.fetchUser("good");
+
+        assertEquals(new GitHubOAuthClient.GitHubUser("42", "octo", "octo@example.com", "http://a/octo.png"), user);
+    }
+
+    @Test
+    void fetchUserFallsBackToPrimaryVerifiedEmail() {
+        userJson = "{\"id\":42,\"login\":\"octo\",\"email\":null}";
+        emailsJson = "[{\"email\":\"other@example.com\",\"primary\":false,\"verified\":true},"
+                + "{\"email\":\"unverified@example.com\",\"primary\":true,\"verified\":false},"
+                + "{\"email\":\"primary@example.com\",\"primary\":true,\"verified\":true}]";
+
+        assertEquals("primary@example.com", client.fetchUser("good").email());
+    }
+
+    @Test
+    void fetchUserFallsBackToNoreplyAddress() {
+        userJson = "{\"id\":42,\"login\":\"octo\",\"email\":null}";
+
+        assertEquals("42+octo@users.noreply.github.com", client.fetchUser("good").email());
+    }
+
+    @Test
+    void fetchUserRejectsBadCode() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> client.fetchUser("bad"));
+        assertTrue(e.getMessage().contains("The code passed is incorrect or expired."));
+    }
+
+    @Test
+    void authorizeUrlCarriesState() {
+        String url = client.authorizeUrl("abc-123");
+
+        assertTrue(url.contains("/login/oauth/authorize?"));
+        assertTrue(url.contains("client_id=id"));
+        assertTrue(url.contains("state=abc-123"));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,157 @@
+package com.blog.security;
+
+import com.blog.enums.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * JwtTokenProvider测试，覆盖快速校验路径拒绝各类无效令牌的情况
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final long EXPIRATION_MILLIS = 3_600_000;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private TokenRevocationService revocations;
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void createProvider() {
+        revocations = new TokenRevocationService(null, null, false,
+                EXPIRATION_MILLIS, 1000, 0.01, Duration.ofSeconds(60));
+        provider = new JwtTokenProvider(new ObjectMapper(), revocations, new SimpleMeterRegistry(),
+                SECRET, EXPIRATION_MILLIS, 100);
+    }
+
+    @Test
+    void authenticatesIssuedToken() {
+        JwtPrincipal principal = provider.authenticate(provider.generateToken(42L, "alice", UserRole.ADMIN));
+
+        assertNotNull(principal);
+        assertEquals(42L, principal.id());
+        assertEquals("alice", principal.username());
+        assertEquals(UserRole.ADMIN, principal.role());
+        assertNotNull(principal.tokenId());
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        String token = provider.generateToken(42L, "alice", UserRole.USER);
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char flipped = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+
+        assertNull(provider.authenticate(token.substring(0, signatureStart) + flipped
+                + token.substring(signatureStart + 1)));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        String token = provider.generateToken(42L, "alice", UserRole.USER);
+        String[] parts = token.split("\\.");
+        String forged = encode(claims(1L, "ADMIN", futureExp()));
+
+        assertNull(provider.authenticate(parts[0] + "." + forged + "." + parts[2]));
+    }
+
+    @Test
+    void rejectsAlgorithmOtherThanHs256() {
+        // 签名本身用正确密钥计算，只有头部声明的算法不同
+        assertNull(provider.authenticate(sign("{\"alg\":\"HS512\",\"typ\":\"JWT\"}", claims(42L, "USER", futureExp()))));
+        assertNull(provider.authenticate(sign("{\"alg\":\"none\",\"typ\":\"JWT\"}", claims(42L, "USER", futureExp()))));
+        assertNull(provider.authenticate(sign("{\"typ\":\"JWT\"}", claims(42L, "USER", futureExp()))));
+    }
+
+    @Test
+    void acceptsManuallySignedHs256Token() {
+        assertNotNull(provider.authenticate(sign("{\"alg\":\"HS256\"}", claims(42L, "USER", futureExp()))));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        long past = System.currentTimeMillis() / 1000 - 1;
+
+        assertNull(provider.authenticate(sign("{\"alg\":\"HS256\"}", claims(42L, "USER", past))));
+    }
+
+    @Test
+    void rejectsTokenWithoutExpiration() {
+        String claims = "{\"jti\":\"t1\",\"sub\":\"42\",\"username\":\"alice\",\"role\":\"USER\"}";
+
+        assertNull(provider.authenticate(sign("{\"alg\":\"HS256\"}", claims)));
+    }
+
+    @Test
+    void rejectsMalformedSegments() {
+        String valid = provider.generateToken(42L, "alice", UserRole.USER);
+        String[] parts = valid.split("\\.");
+
+        assertNull(provider.authenticate(""));
+        assertNull(provider.authenticate("abc"));
+        assertNull(provider.authenticate(parts[0] + "." + parts[1]));
+        assertNull(provider.authenticate(parts[0] + "." + parts[1] + "."));
+        assertNull(provider.authenticate("." + parts[1] + "." + parts[2]));
+        assertNull(provider.authenticate(parts[0] + ".." + parts[2]));
+        assertNull(provider.authenticate(parts[0] + "." + parts[1] + ".!!!"));
+        // 签名正确但头部和载荷不是JSON
+        assertNull(provider.authenticate(sign("not-json", claims(42L, "USER", futureExp()))));
+        assertNull(provider.authenticate(sign("{\"alg\":\"HS256\"}", "not-json")));
+        // 声明缺失或取值非法
+        assertNull(provider.authenticate(sign("{\"alg\":\"HS256\"}",
+                "{\"jti\":\"t1\",\"sub\":\"x\",\"role\":\"USER\",\"exp\":" + futureExp() + "}")));
+        assertNull(provider.authenticate(sign("{\"alg\":\"HS256\"}",
+                "{\"jti\":\"t1\",\"sub\":\"42\",\"role\":\"ROOT\",\"exp\":" + futureExp() + "}")));
+    }
+
+    @Test
+    void rejectsRevokedTokenEvenWhenCached() {
+        String token = provider.generateToken(42L, "alice", UserRole.USER);
+        String other = provider.generateToken(42L, "alice", UserRole.USER);
+        JwtPrincipal principal = provider.authenticate(token);
+        assertNotNull(principal);
+
+        revocations.revoke(principal);
+
+        assertNull(provider.authenticate(token));
+        assertNotNull(provider.authenticate(other));
+    }
+
+    private static long futureExp() {
+        return (System.currentTimeMillis() + EXPIRATION_MILLIS) / 1000;
+    }
+
+    private static String claims(long userId, String role, long exp) {
+        return "{\"jti\":\"t-" + userId + "-" + exp + "\",\"sub\":\"" + userId + "\",\"username\":\"alice\","
+                + "\"role\":\"" + role + "\",\"exp\":" + exp + "}";
+    }
+
+    private static String encode(String json) {
+        return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 用测试密钥按HS256对任意头部和载荷签名
+     */
+    private static String sign(String header, String claims) {
+        String signingInput = encode(header) + "." + encode(claims);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return signingInput + "." + ENCODER.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
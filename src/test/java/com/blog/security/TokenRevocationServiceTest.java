@@ -0,0 +1,48 @@
+package com.blog.security;
+
+import com.blog.enums.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TokenRevocationService测试，不启用Redis，只验证本地吊销记录
+ */
+class TokenRevocationServiceTest {
+
+    private static final long LIFETIME_MILLIS = 3_600_000;
+
+    @Test
+    void keepsRevocationsBeyondExpectedCount() {
+        TokenRevocationService service = new TokenRevocationService(null, null, false,
+                LIFETIME_MILLIS, 10, 0.01, Duration.ofSeconds(60));
+        long expiresAt = System.currentTimeMillis() + LIFETIME_MILLIS;
+        for (int i = 0; i < 1000; i++) {
+            service.revoke(principal("revoked-" + i, expiresAt));
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(service.isRevoked(principal("revoked-" + i, expiresAt)), "revoked-" + i);
+        }
+        assertFalse(service.isRevoked(principal("active", expiresAt)));
+    }
+
+    @Test
+    void ignoresExpiredTokens() {
+        TokenRevocationService service = new TokenRevocationService(null, null, false,
+                LIFETIME_MILLIS, 10, 0.01, Duration.ofSeconds(60));
+        JwtPrincipal expired = principal("expired", System.currentTimeMillis() - 1);
+
+        service.revoke(expired);
+        service.resync();
+
+        assertFalse(service.isRevoked(expired));
+    }
+
+    private static JwtPrincipal principal(String tokenId, long expiresAt) {
+        return new JwtPrincipal(1L, "alice", UserRole.USER, tokenId, expiresAt);
+    }
+}
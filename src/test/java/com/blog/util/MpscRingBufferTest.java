@@ -0,0 +1,141 @@
+package com.blog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MpscRingBuffer测试
+ */
+class MpscRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToPowerOfTwo() {
+        assertEquals(2, new MpscRingBuffer<Integer>(2).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<Integer>(1));
+        assertThrows(NullPointerException.class, () -> new MpscRingBuffer<Integer>(4).offer(null));
+    }
+
+    @Test
+    void rejectsOfferWhenFullAndReturnsNullWhenEmpty() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        assertNull(buffer.poll());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, buffer.poll());
+        }
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void keepsFifoOrderAcrossWraparound() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        // 每轮写入3个取出3个，写指针多次绕过数组末尾
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+        }
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void drainStopsAtLimit() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        assertEquals(3, buffer.drain(drained::add, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+        assertEquals(2, buffer.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), drained);
+        assertEquals(0, buffer.drain(drained::add, 10));
+    }
+
+    @Test
+    void deliversEveryElementOnceUnderConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        // 元素高位为生产者编号，低位为生产者内序号
+                        Long element = producer << 32 | i;
+                        while (!buffer.offer(element)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            long[] lastSeen = new long[producers];
+            Arrays.fill(lastSeen, -1);
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < producers * perProducer) {
+                assertTrue(System.nanoTime() < deadline, "消费超时，已收到" + received);
+                Long element = buffer.poll();
+                if (element == null) {
+                    Thread.yield();
+                    continue;
+                }
+                int producer = (int) (element >>> 32);
+                long sequence = element & 0xFFFFFFFFL;
+                // 同一生产者的元素按写入顺序出队，且不重不漏
+                assertEquals(lastSeen[producer] + 1, sequence);
+                lastSeen[producer] = sequence;
+                received++;
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            assertNull(buffer.poll());
+            for (long last : lastSeen) {
+                assertEquals(perProducer - 1, last);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}